@@ -0,0 +1,105 @@
+// src/jmh/java/com/interview/service_p/benchmark/FanOutBenchmark.java
+package com.interview.service_p.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform threads with virtual threads for the ticker-statistics request shape:
+ * many concurrent requests, each fanning out several blocking upstream calls.
+ * One benchmark operation serves {@code concurrentRequests} requests to completion.
+ * Upstream latency is simulated with Thread.sleep, which parks a virtual thread but pins a platform thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class FanOutBenchmark {
+
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ThreadMode threadMode;
+
+    @Param({"1000"})
+    private int concurrentRequests;
+
+    // Upstream calls per request (FMP chunks after batching)
+    @Param({"4"})
+    private int callsPerRequest;
+
+    @Param({"20"})
+    private long upstreamLatencyMs;
+
+    // Tomcat's default max-threads, used for both platform pools
+    private static final int PLATFORM_POOL_SIZE = 200;
+
+    private ExecutorService requestExecutor;
+    private ExecutorService fanOutExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (threadMode == ThreadMode.PLATFORM) {
+            requestExecutor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+            fanOutExecutor = Executors.newFixedThreadPool(PLATFORM_POOL_SIZE);
+        } else {
+            requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        fanOutExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public int serveRequests() throws Exception {
+        List<Future<Integer>> requests = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            requests.add(requestExecutor.submit(this::handleRequest));
+        }
+        int resolved = 0;
+        for (Future<Integer> request : requests) {
+            resolved += request.get();
+        }
+        return resolved;
+    }
+
+    private int handleRequest() throws Exception {
+        List<Callable<Integer>> calls = new ArrayList<>(callsPerRequest);
+        for (int i = 0; i < callsPerRequest; i++) {
+            calls.add(() -> {
+                Thread.sleep(upstreamLatencyMs);
+                return 1;
+            });
+        }
+        int resolved = 0;
+        for (Future<Integer> call : fanOutExecutor.invokeAll(calls)) {
+            resolved += call.get();
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,55 @@
+// src/jmh/java/com/interview/service_p/benchmark/IdGeneratorBenchmark.java
+package com.interview.service_p.benchmark;
+
+import com.interview.service_p.service.support.IdGenerator;
+import com.interview.service_p.service.support.SnowflakeIdGenerator;
+import com.interview.service_p.service.support.UuidIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares message ID generators under contention: every benchmark thread draws from one shared generator,
+ * as the producer paths do through UniqueIdGenService. Override the thread count with -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    public enum Generator { UUID, SNOWFLAKE }
+
+    @Param({"UUID", "SNOWFLAKE"})
+    private Generator generator;
+
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        idGenerator = generator == Generator.UUID
+                ? new UuidIdGenerator()
+                : new SnowflakeIdGenerator(1, Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idGenerator.nextId();
+    }
+}
@@ -0,0 +1,81 @@
+// src/jmh/java/com/interview/service_p/benchmark/KafkaPayloadBenchmark.java
+package com.interview.service_p.benchmark;
+
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import com.interview.service_p.model.kafka.TickerQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Kafka value codec for analysis requests: Spring Kafka's JsonSerializer configured as in
+ * application.properties (no type headers), and the matching JsonDeserializer a consumer would use.
+ * The encoded size is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaPayloadBenchmark {
+
+    private static final String TOPIC = "ticker-analysis-requests";
+
+    // Ticker queries per analysis request
+    @Param({"1", "10"})
+    private int queries;
+
+    private JsonSerializer<TickerDetailPayload> serializer;
+    private JsonDeserializer<TickerDetailPayload> deserializer;
+    private TickerDetailPayload payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        deserializer = new JsonDeserializer<>(TickerDetailPayload.class, false);
+
+        List<TickerQuery> tickerQueries = new ArrayList<>(queries);
+        for (int i = 0; i < queries; i++) {
+            tickerQueries.add(new TickerQuery("SYM" + i, "What is the outlook for next quarter's earnings?"));
+        }
+        payload = new TickerDetailPayload("0A8PTTNNW0MHB", tickerQueries, "analyst@example.com");
+        encoded = serializer.serialize(TOPIC, payload);
+        System.out.println("Encoded size for " + queries + " queries: " + encoded.length + " bytes");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, payload);
+    }
+
+    @Benchmark
+    public TickerDetailPayload deserialize() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
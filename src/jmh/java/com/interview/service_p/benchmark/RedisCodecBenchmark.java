@@ -0,0 +1,83 @@
+// src/jmh/java/com/interview/service_p/benchmark/RedisCodecBenchmark.java
+package com.interview.service_p.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.service_p.config.TickerStatisticRedisSerializer;
+import com.interview.service_p.model.TickerStatistic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Redis value codecs for TickerStatistic: the Jackson JSON serializer RedisConfig used to
+ * install, and the binary TickerStatisticRedisSerializer. deserialize is the cache-hit path.
+ * Encoded sizes are printed once per trial, since JMH only measures time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisCodecBenchmark {
+
+    public enum Codec { JSON, BINARY }
+
+    @Param({"JSON", "BINARY"})
+    private Codec codec;
+
+    private RedisSerializer<TickerStatistic> serializer;
+    private TickerStatistic statistic;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same ObjectMapper setup as RedisConfig
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Jackson2JsonRedisSerializer<TickerStatistic> jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, TickerStatistic.class);
+        serializer = codec == Codec.JSON ? jsonSerializer : new TickerStatisticRedisSerializer(jsonSerializer, true);
+
+        statistic = new TickerStatistic();
+        statistic.setSymbol("GOOGL");
+        statistic.setPrice(178.35);
+        statistic.setVolume(23_456_789);
+        statistic.setPeRatio(27.41);
+        statistic.setLastUpdated("1718046000"); // FMP quote timestamp, epoch seconds
+        statistic.setFetchedAt(1718046012345L);
+        encoded = serializer.serialize(statistic);
+        System.out.println(codec + " encoded size: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(statistic);
+    }
+
+    @Benchmark
+    public TickerStatistic deserialize() {
+        return serializer.deserialize(encoded);
+    }
+
+    // Cache write followed by a cache read of the same value
+    @Benchmark
+    public TickerStatistic roundTrip() {
+        return serializer.deserialize(serializer.serialize(statistic));
+    }
+}
@@ -0,0 +1,87 @@
+// src/jmh/java/com/interview/service_p/benchmark/TickerMappingBenchmark.java
+package com.interview.service_p.benchmark;
+
+import com.interview.service_p.entity.TickerStatisticEntity;
+import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.model.fmp.FmpTickerQuoteResponse;
+import com.interview.service_p.service.TickerStatisticDbService;
+import com.interview.service_p.service.mapper.TickerStatisticMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the write path's object mapping for one FMP batch quote response:
+ * FmpTickerQuoteResponse to TickerStatistic (TickerStatisticMapper), then TickerStatistic to entity.
+ * The DB service is built without a repository, since only its conversion helpers are exercised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickerMappingBenchmark {
+
+    // Symbols per FMP response; 50 is the configured FMP batch size
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private final TickerStatisticMapper mapper = new TickerStatisticMapper();
+    private final TickerStatisticDbService dbService = new TickerStatisticDbService(null, new SimpleMeterRegistry());
+    private FmpTickerQuoteResponse[] fmpResponses;
+    private List<TickerStatistic> statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fmpResponses = new FmpTickerQuoteResponse[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            FmpTickerQuoteResponse response = new FmpTickerQuoteResponse();
+            response.setSymbol("SYM" + i);
+            response.setPrice(100.0 + i);
+            response.setVolume(1_000_000.0 + i);
+            response.setPe(20.0 + i / 10.0);
+            response.setTimestamp(String.valueOf(1718046000L + i));
+            fmpResponses[i] = response;
+        }
+        statistics = mapper.toTickerStatistics(fmpResponses);
+    }
+
+    @Benchmark
+    public List<TickerStatistic> toTickerStatistics() {
+        return mapper.toTickerStatistics(fmpResponses);
+    }
+
+    @Benchmark
+    public List<TickerStatisticEntity> toEntities() {
+        List<TickerStatisticEntity> entities = new ArrayList<>(statistics.size());
+        for (TickerStatistic statistic : statistics) {
+            entities.add(dbService.convertToEntity(statistic));
+        }
+        return entities;
+    }
+
+    @Benchmark
+    public List<TickerStatisticEntity> fmpResponseToEntities() {
+        List<TickerStatistic> mapped = mapper.toTickerStatistics(fmpResponses);
+        List<TickerStatisticEntity> entities = new ArrayList<>(mapped.size());
+        for (TickerStatistic statistic : mapped) {
+            entities.add(dbService.convertToEntity(statistic));
+        }
+        return entities;
+    }
+}
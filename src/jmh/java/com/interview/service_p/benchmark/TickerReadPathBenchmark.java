@@ -0,0 +1,177 @@
+// src/jmh/java/com/interview/service_p/benchmark/TickerReadPathBenchmark.java
+package com.interview.service_p.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.interview.service_p.config.RefreshAheadProperties;
+import com.interview.service_p.config.RestConfigProperties;
+import com.interview.service_p.config.TickerRefreshProperties;
+import com.interview.service_p.config.TickerStatisticsProperties;
+import com.interview.service_p.entity.TickerStatisticEntity;
+import com.interview.service_p.model.TickerResponse;
+import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.service.RedisTickerCacheService;
+import com.interview.service_p.service.SymbolPopularityTracker;
+import com.interview.service_p.service.TickerRefreshService;
+import com.interview.service_p.service.TickerService;
+import com.interview.service_p.service.TickerStatisticDbService;
+import com.interview.service_p.service.mapper.TickerStatisticMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the in-memory work of TickerService.getTickerStatistics with the Redis and DB tiers replaced by
+ * map-backed stubs: miss detection, single-flight coalescing, staleness checks, DTO conversion and
+ * response assembly. Every ticker missing from the cache stub is a fresh DB row, so no FMP call is made.
+ * Logging is raised to WARN so the numbers are not dominated by console output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickerReadPathBenchmark {
+
+    @Param({"10", "100"})
+    private int tickersPerRequest;
+
+    // Share of the requested tickers served by the cache stub; the rest come from the DB stub
+    @Param({"100", "50"})
+    private int cacheHitPercent;
+
+    private TickerService tickerService;
+    private TickerRefreshService tickerRefreshService;
+    private List<String> tickers;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        tickers = new ArrayList<>(tickersPerRequest);
+        Map<String, TickerStatistic> cached = new HashMap<>();
+        Map<String, TickerStatisticEntity> stored = new HashMap<>();
+        int hits = tickersPerRequest * cacheHitPercent / 100;
+        for (int i = 0; i < tickersPerRequest; i++) {
+            String symbol = "SYM" + i;
+            tickers.add(symbol);
+            TickerStatisticEntity entity = new TickerStatisticEntity(symbol, 100.0 + i, 1_000_000.0, 20.0,
+                    "1718046000", LocalDateTime.now());
+            stored.put(symbol, entity);
+            if (i < hits) {
+                TickerStatistic statistic = new TickerStatistic();
+                statistic.setSymbol(symbol);
+                statistic.setPrice(entity.getPrice());
+                statistic.setVolume(entity.getVolume());
+                statistic.setPeRatio(entity.getPeRatio());
+                statistic.setLastUpdated(entity.getLastUpdatedApi());
+                cached.put(symbol, statistic);
+            }
+        }
+
+        RestConfigProperties.ApiProviderProperties fmp = new RestConfigProperties.ApiProviderProperties();
+        fmp.setBatchSize(50);
+        fmp.setDbStalenessThresholdMinutes(5);
+        RestConfigProperties restConfigProperties = new RestConfigProperties();
+        restConfigProperties.setProviders(Map.of("fmp", fmp));
+
+        tickerRefreshService = new TickerRefreshService(new TickerRefreshProperties());
+        tickerService = new TickerService(null, null, null, null, null, null, null,
+                new StubRedisTickerCacheService(cached),
+                new StubTickerStatisticDbService(stored),
+                null, // Price history and the universe snapshot are only written after an FMP fetch, which never happens here
+                null,
+                null,
+                new TickerStatisticMapper(),
+                restConfigProperties,
+                new TickerStatisticsProperties(),
+                tickerRefreshService,
+                new SymbolPopularityTracker(new RefreshAheadProperties()),
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        tickerRefreshService.shutdown();
+    }
+
+    @Benchmark
+    public TickerResponse getTickerStatistics() {
+        return tickerService.getTickerStatistics(tickers);
+    }
+
+    // Redis tier stub: reads from a fixed map, drops writes so the hit ratio stays constant
+    private static final class StubRedisTickerCacheService extends RedisTickerCacheService {
+
+        private final Map<String, TickerStatistic> cached;
+
+        StubRedisTickerCacheService(Map<String, TickerStatistic> cached) {
+            super(null, null, new SimpleMeterRegistry());
+            this.cached = cached;
+        }
+
+        @Override
+        public Map<String, TickerStatistic> getAll(Collection<String> symbols) {
+            Map<String, TickerStatistic> found = new LinkedHashMap<>();
+            for (String symbol : symbols) {
+                TickerStatistic statistic = cached.get(symbol);
+                if (statistic != null) {
+                    found.put(symbol, statistic);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public void putAll(Map<String, TickerStatistic> statistics, long ttlSeconds) {
+        }
+    }
+
+    // DB tier stub: every symbol has a fresh row
+    private static final class StubTickerStatisticDbService extends TickerStatisticDbService {
+
+        private final Map<String, TickerStatisticEntity> stored;
+
+        StubTickerStatisticDbService(Map<String, TickerStatisticEntity> stored) {
+            super(null, new SimpleMeterRegistry());
+            this.stored = stored;
+        }
+
+        @Override
+        public Map<String, TickerStatisticEntity> findAllBySymbols(Collection<String> symbols) {
+            Map<String, TickerStatisticEntity> found = new HashMap<>();
+            for (String symbol : symbols) {
+                TickerStatisticEntity entity = stored.get(symbol);
+                if (entity != null) {
+                    found.put(symbol, entity);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public int saveAll(Collection<TickerStatistic> statistics) {
+            return 0;
+        }
+    }
+}
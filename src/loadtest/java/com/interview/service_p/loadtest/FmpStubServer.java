@@ -0,0 +1,125 @@
+// src/loadtest/java/com/interview/service_p/loadtest/FmpStubServer.java
+package com.interview.service_p.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for FMP's batch quote endpoint, GET /api/v3/quote/{SYM1,SYM2,...}.
+ * Every requested symbol gets a quote with a price derived from its name, so repeated runs see the same data.
+ * Latency and failures are injected per call: a fixed delay plus uniform jitter, then a 429 or a 500
+ * with the configured probabilities.
+ */
+public class FmpStubServer implements AutoCloseable {
+
+    private static final String QUOTE_PATH = "/api/v3/quote/";
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final double throttleRate;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+
+    public FmpStubServer(long latencyMs, long jitterMs, double errorRate, double throttleRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        // A sleeping handler parks a virtual thread, so injected latency never limits the stub's own throughput
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext(QUOTE_PATH, this::handleQuote);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return The value for rest.api.providers.fmp.base-url.
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api";
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getFailedCalls() {
+        return failedCalls.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        try (exchange) {
+            sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < throttleRate) {
+                failedCalls.incrementAndGet();
+                respond(exchange, 429, "{\"Error Message\":\"Limit Reach\"}");
+                return;
+            }
+            if (roll < throttleRate + errorRate) {
+                failedCalls.incrementAndGet();
+                respond(exchange, 500, "{\"Error Message\":\"Injected failure\"}");
+                return;
+            }
+            String symbols = exchange.getRequestURI().getPath().substring(QUOTE_PATH.length());
+            respond(exchange, 200, quotes(symbols.split(",")));
+        }
+    }
+
+    private static String quotes(String[] symbols) {
+        long now = System.currentTimeMillis() / 1000;
+        StringBuilder json = new StringBuilder(symbols.length * 96).append('[');
+        for (int i = 0; i < symbols.length; i++) {
+            String symbol = symbols[i];
+            double price = 10 + Math.floorMod(symbol.hashCode(), 50000) / 100.0;
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"symbol\":\"").append(symbol)
+                    .append("\",\"price\":").append(price)
+                    .append(",\"volume\":").append(1_000_000 + Math.floorMod(symbol.hashCode(), 9_000_000))
+                    .append(",\"pe\":").append(5 + Math.floorMod(symbol.hashCode(), 4000) / 100.0)
+                    .append(",\"timestamp\":\"").append(now).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// src/loadtest/java/com/interview/service_p/loadtest/LatencyRecorder.java
+package com.interview.service_p.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects request latencies for one scenario from many worker threads without locking,
+ * and summarizes them as throughput and latency percentiles.
+ */
+public class LatencyRecorder {
+
+    // Latencies from 1 microsecond to 1 minute at 3 significant digits
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder failures = new LongAdder();
+
+    public void recordSuccess(long latencyNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), TimeUnit.MINUTES.toMicros(1)));
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Discards everything recorded so far; used at the end of the warm-up phase.
+     */
+    public void reset() {
+        recorder.reset();
+        failures.reset();
+    }
+
+    public Summary summarize(String scenario, long elapsedNanos) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        return new Summary(scenario,
+                histogram.getTotalCount(),
+                failures.sum(),
+                histogram.getTotalCount() / (elapsedNanos / 1e9),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Results of one scenario; latencies in milliseconds, for successful requests only.
+     */
+    public record Summary(String scenario, long requests, long failures, double throughputPerSecond,
+                          double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        public String toLine() {
+            return String.format(Locale.ROOT, "%-22s %10d %9d %12.1f %9.2f %9.2f %9.2f %9.2f",
+                    scenario, requests, failures, throughputPerSecond, p50Ms, p99Ms, p999Ms, maxMs);
+        }
+
+        public static String header() {
+            return String.format(Locale.ROOT, "%-22s %10s %9s %12s %9s %9s %9s %9s",
+                    "scenario", "requests", "failures", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        }
+    }
+}
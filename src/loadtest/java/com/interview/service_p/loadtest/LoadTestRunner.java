@@ -0,0 +1,339 @@
+// src/loadtest/java/com/interview/service_p/loadtest/LoadTestRunner.java
+package com.interview.service_p.loadtest;
+
+import com.interview.service_p.ServicePApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * End-to-end load test: starts service-p on a random port against local stand-ins (an in-process FMP stub,
+ * and Postgres, Redis and Kafka in Testcontainers), then drives /v1/ticker-statistics and
+ * /v1/ticker-analysis-async and prints throughput and latency percentiles.
+ * <p>
+ * Without {@code --rate} the workload is closed-loop: each worker sends its next request when the previous one
+ * completes, which finds the saturation throughput but lets a slowed-down service throttle its own load, so the
+ * requests that would have queued behind a stall are never sent or measured (coordinated omission). With
+ * {@code --rate} it is open-loop: requests are issued on a fixed schedule whatever the responses do, and latency
+ * is measured from each request's intended send time, so queueing behind a stall shows up in the percentiles.
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--duration-seconds=60 ..."}.
+ * Options (defaults in brackets):
+ * <ul>
+ *   <li>--scenarios=statistics,analysis-async [both], --warmup-seconds=10, --duration-seconds=30</li>
+ *   <li>--concurrency=64: closed-loop workers, used when --rate is not set</li>
+ *   <li>--rate=N: open-loop requests per second; --max-in-flight=10000 caps outstanding requests, and requests
+ *       due beyond the cap count as failures rather than delaying the schedule</li>
+ *   <li>--distribution=ZIPF|UNIFORM [ZIPF], --zipf-exponent=1.0, --universe-size=5000, --symbols-per-request=5</li>
+ *   <li>--fmp-latency-ms=50, --fmp-jitter-ms=50, --fmp-error-rate=0.0, --fmp-throttle-rate=0.0</li>
+ *   <li>--infrastructure=containers|local [containers]; local uses the hosts in application.properties</li>
+ *   <li>--max-p99-ms=N: exit with status 1 if any scenario's p99 exceeds N, for use as a regression gate;
+ *       requires --rate, since closed-loop percentiles understate latency under slowdowns</li>
+ *   <li>--set.&lt;property&gt;=value: any application property, e.g. --set.app.ticker.statistics.execution-mode=REACTIVE</li>
+ * </ul>
+ */
+public class LoadTestRunner {
+
+    private static final String STATISTICS = "statistics";
+    private static final String ANALYSIS_ASYNC = "analysis-async";
+
+    private final Map<String, String> options;
+    private final Map<String, String> applicationProperties = new LinkedHashMap<>();
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    LoadTestRunner(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        System.exit(new LoadTestRunner(options).run() ? 0 : 1);
+    }
+
+    /**
+     * @return False if a scenario failed the --max-p99-ms gate.
+     */
+    boolean run() throws Exception {
+        if (options.containsKey("max-p99-ms") && doubleOption("rate", 0) <= 0) {
+            throw new IllegalArgumentException("--max-p99-ms needs --rate: closed-loop percentiles omit the requests "
+                    + "a slowed-down service kept from being sent");
+        }
+        try {
+            FmpStubServer fmpStub = new FmpStubServer(
+                    longOption("fmp-latency-ms", 50), longOption("fmp-jitter-ms", 50),
+                    doubleOption("fmp-error-rate", 0.0), doubleOption("fmp-throttle-rate", 0.0));
+            fmpStub.start();
+            resources.add(fmpStub);
+            if ("containers".equals(option("infrastructure", "containers"))) {
+                startContainers();
+            }
+            configureApplication(fmpStub);
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ServicePApplication.class)
+                    .properties(applicationProperties.entrySet().stream()
+                            .map(entry -> entry.getKey() + "=" + entry.getValue())
+                            .toArray(String[]::new))
+                    .run();
+            resources.add(0, context); // Stopped before the infrastructure it depends on
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1";
+
+            List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+            for (String scenario : option("scenarios", STATISTICS + "," + ANALYSIS_ASYNC).split(",")) {
+                summaries.add(runScenario(scenario.trim(), baseUrl));
+            }
+            return report(summaries, fmpStub);
+        } finally {
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    System.err.println("Failed to stop " + resource + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void startContainers() {
+        PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"));
+        GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+        KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.6.0"));
+        for (GenericContainer<?> container : List.of(postgres, redis, kafka)) {
+            container.start();
+            resources.add(container);
+        }
+        applicationProperties.put("spring.datasource.url", postgres.getJdbcUrl());
+        applicationProperties.put("spring.datasource.username", postgres.getUsername());
+        applicationProperties.put("spring.datasource.password", postgres.getPassword());
+        applicationProperties.put("spring.data.redis.host", redis.getHost());
+        applicationProperties.put("spring.data.redis.port", String.valueOf(redis.getMappedPort(6379)));
+        applicationProperties.put("spring.kafka.bootstrap-servers", kafka.getBootstrapServers());
+    }
+
+    private void configureApplication(FmpStubServer fmpStub) throws Exception {
+        applicationProperties.put("server.port", "0");
+        applicationProperties.put("rest.api.providers.fmp.base-url", fmpStub.baseUrl());
+        applicationProperties.put("rest.api.providers.fmp.api-key", "load-test");
+        applicationProperties.put("app.kafka.spool.directory",
+                Files.createTempDirectory("service-p-spool").toString());
+        // Per-request INFO logs and SQL echo would make the console the bottleneck
+        applicationProperties.put("logging.level.com.interview.service_p", "WARN");
+        applicationProperties.put("spring.jpa.show-sql", "false");
+        options.forEach((name, value) -> {
+            if (name.startsWith("set.")) {
+                applicationProperties.put(name.substring("set.".length()), value);
+            }
+        });
+    }
+
+    private LatencyRecorder.Summary runScenario(String scenario, String baseUrl) throws Exception {
+        SymbolDistribution distribution = new SymbolDistribution(
+                SymbolDistribution.Kind.valueOf(option("distribution", "ZIPF")),
+                (int) longOption("universe-size", 5000),
+                doubleOption("zipf-exponent", 1.0));
+        int symbolsPerRequest = (int) longOption("symbols-per-request", 5);
+        Supplier<HttpRequest> requests = switch (scenario) {
+            case STATISTICS -> () -> post(baseUrl + "/ticker-statistics",
+                    "{\"tickers\":[" + quoted(distribution.next(symbolsPerRequest)) + "]}");
+            case ANALYSIS_ASYNC -> analysisRequests(baseUrl, distribution, symbolsPerRequest);
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+
+        double rate = doubleOption("rate", 0);
+        long warmupNanos = TimeUnit.SECONDS.toNanos(longOption("warmup-seconds", 10));
+        long measureNanos = TimeUnit.SECONDS.toNanos(longOption("duration-seconds", 30));
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(clientThreads)
+                     .build();
+             ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long measureStart = start + warmupNanos;
+            long end = measureStart + measureNanos;
+            if (rate > 0) {
+                int maxInFlight = (int) longOption("max-in-flight", 10_000);
+                System.out.printf("Running %s: open loop at %.1f requests/s (max %d in flight), %ds warm-up, %ds measured%n",
+                        scenario, rate, maxInFlight, TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+                        TimeUnit.NANOSECONDS.toSeconds(measureNanos));
+                runOpenLoop(client, senders, requests, recorder, rate, maxInFlight, start, measureStart, end);
+                // Wait out the stragglers: the slowest responses are the ones the percentiles must not lose
+                senders.shutdown();
+                senders.awaitTermination(1, TimeUnit.MINUTES);
+                return recorder.summarize(scenario, measureNanos);
+            }
+            int concurrency = (int) longOption("concurrency", 64);
+            System.out.printf("Running %s: closed loop with %d workers, %ds warm-up, %ds measured%n", scenario,
+                    concurrency, TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(measureNanos));
+            // Closed loop: each worker sends its next request as soon as the previous one completes
+            for (int i = 0; i < concurrency; i++) {
+                senders.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        try {
+                            send(client, requests, recorder, System.nanoTime());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+            TimeUnit.NANOSECONDS.sleep(warmupNanos);
+            recorder.reset();
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, end - System.nanoTime()));
+            LatencyRecorder.Summary summary = recorder.summarize(scenario, System.nanoTime() - measureStart);
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+            return summary;
+        }
+    }
+
+    /**
+     * Issues request i at {@code start + i / rate} on its own virtual thread, never waiting for earlier responses,
+     * and records each latency from that intended time rather than from when the request actually went out.
+     */
+    private static void runOpenLoop(HttpClient client, ExecutorService senders, Supplier<HttpRequest> requests,
+                                    LatencyRecorder recorder, double rate, int maxInFlight,
+                                    long start, long measureStart, long end) {
+        long intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        boolean measuring = false;
+        for (long i = 0; start + i * intervalNanos < end; i++) {
+            long intended = start + i * intervalNanos;
+            if (!measuring && intended >= measureStart) {
+                recorder.reset();
+                measuring = true;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            // Blocking for a permit would stall the schedule, which is the omission this mode exists to avoid
+            if (!inFlight.tryAcquire()) {
+                recorder.recordFailure();
+                continue;
+            }
+            senders.submit(() -> {
+                try {
+                    send(client, requests, recorder, intended);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private static void send(HttpClient client, Supplier<HttpRequest> requests, LatencyRecorder recorder,
+                             long startNanos) throws InterruptedException {
+        try {
+            HttpResponse<Void> response = client.send(requests.get(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                recorder.recordSuccess(System.nanoTime() - startNanos);
+            } else {
+                recorder.recordFailure();
+            }
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            recorder.recordFailure();
+        }
+    }
+
+    private static Supplier<HttpRequest> analysisRequests(String baseUrl, SymbolDistribution distribution, int symbolsPerRequest) {
+        AtomicLong sequence = new AtomicLong();
+        return () -> {
+            StringBuilder queries = new StringBuilder();
+            for (String symbol : distribution.next(symbolsPerRequest)) {
+                if (!queries.isEmpty()) {
+                    queries.append(',');
+                }
+                queries.append("{\"ticker\":\"").append(symbol).append("\",\"query\":\"Summarize the latest earnings\"}");
+            }
+            // A distinct email per request keeps the dedup window from collapsing the load
+            return post(baseUrl + "/ticker-analysis-async",
+                    "{\"tickers\":[" + queries + "],\"email\":\"load-" + sequence.incrementAndGet() + "@example.com\"}");
+        };
+    }
+
+    private boolean report(List<LatencyRecorder.Summary> summaries, FmpStubServer fmpStub) {
+        System.out.println();
+        System.out.println(LatencyRecorder.Summary.header());
+        summaries.forEach(summary -> System.out.println(summary.toLine()));
+        System.out.printf("FMP stub: %d calls, %d failed by injection%n", fmpStub.getCalls(), fmpStub.getFailedCalls());
+
+        String maxP99 = options.get("max-p99-ms");
+        if (maxP99 == null) {
+            return true;
+        }
+        boolean passed = true;
+        for (LatencyRecorder.Summary summary : summaries) {
+            if (summary.p99Ms() > Double.parseDouble(maxP99)) {
+                System.out.printf("FAILED: %s p99 of %.2f ms exceeds the %s ms gate%n", summary.scenario(), summary.p99Ms(), maxP99);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String quoted(String[] symbols) {
+        StringBuilder joined = new StringBuilder();
+        for (String symbol : symbols) {
+            if (!joined.isEmpty()) {
+                joined.append(',');
+            }
+            joined.append('"').append(symbol).append('"');
+        }
+        return joined.toString();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private long longOption(String name, long defaultValue) {
+        return Long.parseLong(option(name, String.valueOf(defaultValue)));
+    }
+
+    private double doubleOption(String name, double defaultValue) {
+        return Double.parseDouble(option(name, String.valueOf(defaultValue)));
+    }
+}
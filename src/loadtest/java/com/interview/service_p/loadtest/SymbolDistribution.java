@@ -0,0 +1,64 @@
+// src/loadtest/java/com/interview/service_p/loadtest/SymbolDistribution.java
+package com.interview.service_p.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks ticker symbols from a fixed universe SYM0..SYM(n-1) with a chosen popularity skew.
+ * UNIFORM spreads requests evenly (worst case for the caches); ZIPF sends most requests to a few
+ * symbols (closer to real traffic, where a handful of names dominate), with skew set by the exponent.
+ */
+public class SymbolDistribution {
+
+    public enum Kind { UNIFORM, ZIPF }
+
+    private final String[] symbols;
+    private final Kind kind;
+    // Cumulative probabilities for ZIPF; symbol i is picked when a uniform draw falls below cdf[i]
+    private final double[] cdf;
+
+    public SymbolDistribution(Kind kind, int universeSize, double zipfExponent) {
+        if (universeSize < 1) {
+            throw new IllegalArgumentException("Universe size must be at least 1");
+        }
+        this.kind = kind;
+        this.symbols = new String[universeSize];
+        for (int i = 0; i < universeSize; i++) {
+            symbols[i] = "SYM" + i;
+        }
+        if (kind == Kind.ZIPF) {
+            cdf = new double[universeSize];
+            double total = 0;
+            for (int i = 0; i < universeSize; i++) {
+                total += 1.0 / Math.pow(i + 1, zipfExponent);
+                cdf[i] = total;
+            }
+            for (int i = 0; i < universeSize; i++) {
+                cdf[i] /= total;
+            }
+        } else {
+            cdf = null;
+        }
+    }
+
+    public String next() {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        if (kind == Kind.UNIFORM) {
+            return symbols[(int) (draw * symbols.length)];
+        }
+        int index = Arrays.binarySearch(cdf, draw);
+        return symbols[Math.min(index >= 0 ? index : -index - 1, symbols.length - 1)];
+    }
+
+    /**
+     * @return {@code count} symbols drawn independently; a request may repeat a symbol, as real clients do.
+     */
+    public String[] next(int count) {
+        String[] picked = new String[count];
+        for (int i = 0; i < count; i++) {
+            picked[i] = next();
+        }
+        return picked;
+    }
+}
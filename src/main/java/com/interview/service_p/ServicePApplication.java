@@ -3,9 +3,11 @@ package com.interview.service_p;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties // Enable it for your class
+@EnableScheduling // Background jobs such as refresh-ahead
 public class ServicePApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,28 @@
+// src/main/java/com/interview/service_p/actuator/RefreshAheadEndpoint.java
+package com.interview.service_p.actuator;
+
+import com.interview.service_p.service.RefreshAheadScheduler;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the refresh-ahead top-K and FMP budget burn rate at /actuator/refreshahead.
+ */
+@Component
+@Endpoint(id = "refreshahead")
+public class RefreshAheadEndpoint {
+
+    private final RefreshAheadScheduler refreshAheadScheduler;
+
+    public RefreshAheadEndpoint(RefreshAheadScheduler refreshAheadScheduler) {
+        this.refreshAheadScheduler = refreshAheadScheduler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> refreshAhead() {
+        return refreshAheadScheduler.status();
+    }
+}
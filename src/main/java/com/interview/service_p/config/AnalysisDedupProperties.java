@@ -0,0 +1,62 @@
+// src/main/java/com/interview/service_p/config/AnalysisDedupProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.kafka.dedup") // Binds properties starting with 'app.kafka.dedup'
+@Validated
+public class AnalysisDedupProperties {
+
+    // Set to false to give every analysis request its own message
+    private boolean enabled = true;
+
+    // Identical requests within this many seconds of the first one reuse its message ID
+    @Min(value = 1, message = "Dedup window (seconds) must be at least 1")
+    private long windowSeconds = 30;
+
+    // Fingerprints remembered in-process, in front of Redis
+    @Min(value = 1, message = "Dedup local maximum size must be at least 1")
+    private long localMaximumSize = 10000;
+
+    // How long an async duplicate waits for the original's Redis claim before answering with the original's local ID
+    @Min(value = 0, message = "Dedup claim wait (ms) must be non-negative")
+    private long claimWaitMs = 500;
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public long getLocalMaximumSize() {
+        return localMaximumSize;
+    }
+
+    public long getClaimWaitMs() {
+        return claimWaitMs;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public void setLocalMaximumSize(long localMaximumSize) {
+        this.localMaximumSize = localMaximumSize;
+    }
+
+    public void setClaimWaitMs(long claimWaitMs) {
+        this.claimWaitMs = claimWaitMs;
+    }
+}
@@ -0,0 +1,72 @@
+// src/main/java/com/interview/service_p/config/IdGeneratorProperties.java
+package com.interview.service_p.config;
+
+import com.interview.service_p.service.support.SnowflakeIdGenerator;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Instant;
+
+@Component
+@ConfigurationProperties(prefix = "app.id-generator") // Binds properties starting with 'app.id-generator'
+@Validated
+public class IdGeneratorProperties {
+
+    /**
+     * How message IDs are generated.
+     */
+    public enum Type {
+        UUID, // Random version 4 UUIDs
+        SNOWFLAKE // Time-ordered 64-bit IDs: timestamp, node ID, per-millisecond sequence
+    }
+
+    // UUID until every instance is given its own node ID; switch to SNOWFLAKE then
+    @NotNull(message = "ID generator type cannot be null")
+    private Type type = Type.UUID;
+
+    // Required for SNOWFLAKE, and must be unique per running instance
+    @Min(value = 0, message = "Node ID cannot be negative")
+    @Max(value = SnowflakeIdGenerator.MAX_NODE_ID, message = "Node ID cannot exceed 1023")
+    private Integer nodeId;
+
+    // Start of the SNOWFLAKE timestamp range (41 bits of milliseconds, about 69 years); never change it once IDs exist
+    @NotNull(message = "ID generator epoch cannot be null")
+    private Instant epoch = Instant.parse("2024-01-01T00:00:00Z");
+
+    // A node ID derived from the host name fits only 10 bits, so two instances could share one and issue the same IDs
+    @AssertTrue(message = "SNOWFLAKE IDs need an explicit app.id-generator.node-id, unique per instance")
+    public boolean isNodeIdSetForSnowflake() {
+        return type != Type.SNOWFLAKE || nodeId != null;
+    }
+
+    // --- Getters ---
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    public Instant getEpoch() {
+        return epoch;
+    }
+
+    // --- Setters ---
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public void setEpoch(Instant epoch) {
+        this.epoch = epoch;
+    }
+}
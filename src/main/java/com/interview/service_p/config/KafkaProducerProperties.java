@@ -3,6 +3,8 @@ package com.interview.service_p.config;
 
 // Removed Lombok @Data
 // import lombok.Data;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated; // Optional: for validation annotations
@@ -21,6 +23,23 @@ public class KafkaProducerProperties {
 
     private long retryDelayMs;
 
+    // Producer tuning for /v1/ticker-analysis-bulk, which sends through its own producer
+    @Valid
+    private Bulk bulk = new Bulk();
+
+    /**
+     * How /v1/ticker-analysis-sync and /v1/ticker-analysis-async hand a request to Kafka.
+     */
+    public enum DeliveryMode {
+        DIRECT, // Produced from the request: sync waits for the broker ack, async returns before it
+        OUTBOX // Inserted into the analysis_outbox table; a relay publishes it to Kafka afterwards
+    }
+
+    private DeliveryMode deliveryMode = DeliveryMode.DIRECT;
+
+    @Valid
+    private Outbox outbox = new Outbox();
+
     // --- Manual Getters ---
     public String getTopicName() {
         return topicName;
@@ -38,6 +57,18 @@ public class KafkaProducerProperties {
         return retryDelayMs;
     }
 
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public DeliveryMode getDeliveryMode() {
+        return deliveryMode;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
     // --- Manual Setters ---
     public void setTopicName(String topicName) {
         this.topicName = topicName;
@@ -54,4 +85,124 @@ public class KafkaProducerProperties {
     public void setRetryDelayMs(long retryDelayMs) {
         this.retryDelayMs = retryDelayMs;
     }
+
+    public void setBulk(Bulk bulk) {
+        this.bulk = bulk;
+    }
+
+    public void setDeliveryMode(DeliveryMode deliveryMode) {
+        this.deliveryMode = deliveryMode;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * Bulk ingestion settings, e.g. app.kafka.producer.bulk.max-in-flight=1000
+     * Larger batches, a longer linger and compression trade a few milliseconds of latency for throughput.
+     */
+    public static class Bulk {
+
+        @Min(value = 1, message = "Bulk max in flight must be at least 1") // With 0 the upload would never be read
+        private int maxInFlight = 1000; // Sends awaiting an ack before reading the upload pauses
+
+        @Min(value = 1, message = "Bulk batch size (bytes) must be at least 1")
+        private int batchSizeBytes = 262144;
+
+        @Min(value = 0, message = "Bulk linger (ms) must be non-negative")
+        private long lingerMs = 50;
+
+        private String compressionType = "lz4";
+
+        @Min(value = 1, message = "Bulk completion timeout (ms) must be at least 1")
+        private long completionTimeoutMs = 60000; // How long to wait for outstanding acks once the upload ends
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public int getBatchSizeBytes() {
+            return batchSizeBytes;
+        }
+
+        public long getLingerMs() {
+            return lingerMs;
+        }
+
+        public String getCompressionType() {
+            return compressionType;
+        }
+
+        public long getCompletionTimeoutMs() {
+            return completionTimeoutMs;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public void setBatchSizeBytes(int batchSizeBytes) {
+            this.batchSizeBytes = batchSizeBytes;
+        }
+
+        public void setLingerMs(long lingerMs) {
+            this.lingerMs = lingerMs;
+        }
+
+        public void setCompressionType(String compressionType) {
+            this.compressionType = compressionType;
+        }
+
+        public void setCompletionTimeoutMs(long completionTimeoutMs) {
+            this.completionTimeoutMs = completionTimeoutMs;
+        }
+    }
+
+    /**
+     * Outbox relay settings, e.g. app.kafka.producer.outbox.batch-size=500
+     */
+    public static class Outbox {
+
+        @Min(value = 1, message = "Outbox batch size must be at least 1")
+        private int batchSize = 500; // Rows claimed, published and marked per relay transaction
+
+        private long pollIntervalMs = 200; // Pause between polls once the outbox is drained
+
+        private long sendTimeoutMs = 10000; // How long a batch waits for broker acks before unacked rows are retried
+
+        private long retentionHours = 24; // Published rows are kept this long, then deleted
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public long getSendTimeoutMs() {
+            return sendTimeoutMs;
+        }
+
+        public long getRetentionHours() {
+            return retentionHours;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public void setSendTimeoutMs(long sendTimeoutMs) {
+            this.sendTimeoutMs = sendTimeoutMs;
+        }
+
+        public void setRetentionHours(long retentionHours) {
+            this.retentionHours = retentionHours;
+        }
+    }
 }
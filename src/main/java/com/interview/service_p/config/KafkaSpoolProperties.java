@@ -0,0 +1,97 @@
+// src/main/java/com/interview/service_p/config/KafkaSpoolProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.kafka.spool") // Binds properties starting with 'app.kafka.spool'
+@Validated
+public class KafkaSpoolProperties {
+
+    // Set to false to go back to logging messages that fail both the main and the DLT send as lost
+    private boolean enabled = true;
+
+    @NotBlank(message = "Spool directory cannot be blank")
+    private String directory = "./data/kafka-spool";
+
+    @Min(value = 4096, message = "Spool segment size must be at least 4096 bytes")
+    private int segmentSizeBytes = 16 * 1024 * 1024;
+
+    // Together with the segment size this bounds the spool's disk use
+    @Min(value = 2, message = "Spool max segments must be at least 2")
+    private int maxSegments = 64;
+
+    // How often the drainer tries to replay spooled messages
+    @Min(value = 100, message = "Spool drain interval (ms) must be at least 100")
+    private long drainIntervalMs = 5000;
+
+    // Replay rate once the broker is back, so a long outage does not end in a burst
+    @Min(value = 1, message = "Spool drain rate must be at least 1 message per second")
+    private int drainRatePerSecond = 200;
+
+    // How long a drain run waits for its whole batch to be acknowledged
+    @Min(value = 1, message = "Spool send timeout (ms) must be at least 1")
+    private long sendTimeoutMs = 5000;
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public long getDrainIntervalMs() {
+        return drainIntervalMs;
+    }
+
+    public int getDrainRatePerSecond() {
+        return drainRatePerSecond;
+    }
+
+    public long getSendTimeoutMs() {
+        return sendTimeoutMs;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public void setSegmentSizeBytes(int segmentSizeBytes) {
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public void setDrainIntervalMs(long drainIntervalMs) {
+        this.drainIntervalMs = drainIntervalMs;
+    }
+
+    public void setDrainRatePerSecond(int drainRatePerSecond) {
+        this.drainRatePerSecond = drainRatePerSecond;
+    }
+
+    public void setSendTimeoutMs(long sendTimeoutMs) {
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/interview/service_p/config/NearCacheProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.cache.near") // Binds properties starting with 'app.cache.near'
+@Validated
+public class NearCacheProperties {
+
+    // Set to false to bypass the in-process tier and always go to Redis
+    private boolean enabled = true;
+
+    @Min(value = 1, message = "Near-cache maximum size must be at least 1")
+    private long maximumSize = 1000;
+
+    // Kept well below the Redis TTL: this bounds how long a missed invalidation can serve old data
+    @Min(value = 1, message = "Near-cache TTL (seconds) must be at least 1")
+    private long ttlSeconds = 30;
+
+    @NotBlank(message = "Near-cache invalidation channel cannot be blank")
+    private String invalidationChannel = "ticker-cache-invalidation";
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
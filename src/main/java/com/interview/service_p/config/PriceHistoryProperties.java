@@ -0,0 +1,86 @@
+// src/main/java/com/interview/service_p/config/PriceHistoryProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.ticker.history") // Binds properties starting with 'app.ticker.history'
+@Validated
+public class PriceHistoryProperties {
+
+    // Set to false to stop appending fetched snapshots to ticker_price_history
+    private boolean enabled = true;
+
+    // Daily partitions older than this are dropped whole, which is far cheaper than deleting rows
+    @Min(value = 1, message = "History retention (days) must be at least 1")
+    private int retentionDays = 365;
+
+    // Partitions are created this many days ahead, so inserts never wait on DDL
+    @Min(value = 1, message = "History pre-create days must be at least 1")
+    private int precreateDays = 7;
+
+    // Upper bound on snapshots returned by one history query
+    @Min(value = 1, message = "History max query rows must be at least 1")
+    private int maxQueryRows = 10000;
+
+    // Fetched batches waiting for the history writer; further batches are dropped rather than slowing requests
+    @Min(value = 1, message = "History queue capacity must be at least 1")
+    private int queueCapacity = 1000;
+
+    // How often partitions are pre-created and expired ones dropped
+    @Min(value = 60000, message = "History maintenance interval (ms) must be at least 60000")
+    private long maintenanceIntervalMs = 3600000;
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public int getPrecreateDays() {
+        return precreateDays;
+    }
+
+    public int getMaxQueryRows() {
+        return maxQueryRows;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getMaintenanceIntervalMs() {
+        return maintenanceIntervalMs;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setRetentionDays(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public void setPrecreateDays(int precreateDays) {
+        this.precreateDays = precreateDays;
+    }
+
+    public void setMaxQueryRows(int maxQueryRows) {
+        this.maxQueryRows = maxQueryRows;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void setMaintenanceIntervalMs(long maintenanceIntervalMs) {
+        this.maintenanceIntervalMs = maintenanceIntervalMs;
+    }
+}
@@ -0,0 +1,36 @@
+// src/main/java/com/interview/service_p/config/RedisCacheProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.cache.redis") // Binds properties starting with 'app.cache.redis'
+@Validated
+public class RedisCacheProperties {
+
+    /**
+     * Encoding used when writing TickerStatistic values. Both encodings are always readable,
+     * so switching is safe in either direction while old values expire.
+     */
+    public enum ValueFormat {
+        JSON, // Jackson JSON; readable by nodes that predate the binary codec
+        BINARY // Versioned compact binary; see TickerStatisticRedisSerializer
+    }
+
+    // JSON until every node can read BINARY; opt in to BINARY once the rollout is complete
+    @NotNull(message = "Redis value format cannot be null")
+    private ValueFormat valueFormat = ValueFormat.JSON;
+
+    // --- Getters ---
+    public ValueFormat getValueFormat() {
+        return valueFormat;
+    }
+
+    // --- Setters ---
+    public void setValueFormat(ValueFormat valueFormat) {
+        this.valueFormat = valueFormat;
+    }
+}
@@ -2,6 +2,9 @@
 package com.interview.service_p.config;
 
 import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.service.LocalTickerCacheService;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -10,6 +13,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -19,7 +24,8 @@ import org.springframework.cache.annotation.EnableCaching;
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, TickerStatistic> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, TickerStatistic> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                                RedisCacheProperties redisCacheProperties) {
         RedisTemplate<String, TickerStatistic> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -32,14 +38,38 @@ public class RedisConfig {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Values written by newer nodes may carry fields this node does not know yet
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        // JSON values keep the original field set, so nodes that still fail on unknown properties can read them
+        objectMapper.addMixIn(TickerStatistic.class, LegacyTickerStatisticJson.class);
 
         // FIXED: Pass ObjectMapper directly into the constructor of Jackson2JsonRedisSerializer
         Jackson2JsonRedisSerializer<TickerStatistic> jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, TickerStatistic.class);
 
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Writes the configured format and reads both, so JSON values written before the switch stay readable
+        TickerStatisticRedisSerializer valueSerializer = new TickerStatisticRedisSerializer(jsonSerializer,
+                redisCacheProperties.getValueFormat() == RedisCacheProperties.ValueFormat.BINARY);
+
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
+
+    // Fields left out of JSON values; fetchedAt is already @JsonIgnore on the model. BINARY values carry both
+    @JsonIgnoreProperties({"stale"})
+    private abstract static class LegacyTickerStatisticJson {
+    }
+
+    // Subscribes the near-cache to invalidations published by other nodes
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                               LocalTickerCacheService localCacheService,
+                                                                               NearCacheProperties nearCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(localCacheService, new ChannelTopic(nearCacheProperties.getInvalidationChannel()));
+        return container;
+    }
 }
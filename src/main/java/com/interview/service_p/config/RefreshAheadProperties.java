@@ -0,0 +1,108 @@
+// src/main/java/com/interview/service_p/config/RefreshAheadProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.ticker.refresh-ahead") // Binds properties starting with 'app.ticker.refresh-ahead'
+@Validated
+public class RefreshAheadProperties {
+
+    private boolean enabled = false;
+
+    // How often the scheduler looks at the hottest tickers
+    @Min(value = 1000, message = "Refresh-ahead interval (ms) must be at least 1000")
+    private long intervalMs = 60000;
+
+    // Upstream calls per day that refresh-ahead may spend, spread evenly across the day
+    @Min(value = 0, message = "Daily call budget must be non-negative")
+    private long dailyCallBudget = 1000;
+
+    // Number of hottest tickers kept refreshed
+    @Min(value = 1, message = "Top-K size must be at least 1")
+    private int topK = 100;
+
+    // A hot ticker is refreshed once its cached value is this close to expiring
+    @Min(value = 0, message = "Refresh window (minutes) must be non-negative")
+    private long refreshWindowMinutes = 30;
+
+    // Count-min sketch dimensions for request frequency tracking
+    @Min(value = 16, message = "Sketch width must be at least 16")
+    private int sketchWidth = 2048;
+
+    @Min(value = 1, message = "Sketch depth must be at least 1")
+    private int sketchDepth = 4;
+
+    // Counts are halved this often, so popularity follows recent traffic
+    @Min(value = 1, message = "Decay interval (minutes) must be at least 1")
+    private long decayIntervalMinutes = 60;
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public long getDailyCallBudget() {
+        return dailyCallBudget;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public long getRefreshWindowMinutes() {
+        return refreshWindowMinutes;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public long getDecayIntervalMinutes() {
+        return decayIntervalMinutes;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public void setDailyCallBudget(long dailyCallBudget) {
+        this.dailyCallBudget = dailyCallBudget;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public void setRefreshWindowMinutes(long refreshWindowMinutes) {
+        this.refreshWindowMinutes = refreshWindowMinutes;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public void setDecayIntervalMinutes(long decayIntervalMinutes) {
+        this.decayIntervalMinutes = decayIntervalMinutes;
+    }
+}
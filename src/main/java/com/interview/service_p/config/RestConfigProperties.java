@@ -5,8 +5,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -52,6 +58,27 @@ public class RestConfigProperties {
         @Min(value = 0, message = "DB staleness threshold (minutes) must be non-negative")
         private long dbStalenessThresholdMinutes; // How old DB data can be before considered stale and requiring API call
 
+        @Min(value = 1, message = "Batch size must be at least 1")
+        private int batchSize = 1; // Max symbols per upstream call, for providers that accept comma-separated symbol lists
+
+        @Min(value = 0, message = "Serve-stale window (minutes) must be non-negative")
+        private long serveStaleWindowMinutes; // How long past the staleness threshold DB data is still served (marked stale) while it refreshes in the background; 0 disables
+
+        @DecimalMin(value = "0.0", message = "Early refresh beta must be non-negative")
+        private double earlyRefreshBeta = 1.0; // Aggressiveness of probabilistic early refresh on cache hits; 0 disables
+
+        @Valid
+        private CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties(); // Fails fast while the provider is degraded
+
+        @Valid
+        private ConcurrencyLimitProperties concurrencyLimit = new ConcurrencyLimitProperties(); // Caps in-flight calls based on observed latency
+
+        @Valid
+        private RateLimitProperties rateLimit = new RateLimitProperties(); // Cluster-wide call rate shared by all replicas
+
+        @Valid
+        private ConnectionPoolProperties connectionPool = new ConnectionPoolProperties(); // Pooling, eviction and protocol settings for the provider's HTTP client
+
         // --- Getters and Setters for ApiProviderProperties ---
         public String getBaseUrl() {
             return baseUrl;
@@ -108,6 +135,413 @@ public class RestConfigProperties {
         public void setDbStalenessThresholdMinutes(long dbStalenessThresholdMinutes) {
             this.dbStalenessThresholdMinutes = dbStalenessThresholdMinutes;
         }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getServeStaleWindowMinutes() {
+            return serveStaleWindowMinutes;
+        }
+
+        public void setServeStaleWindowMinutes(long serveStaleWindowMinutes) {
+            this.serveStaleWindowMinutes = serveStaleWindowMinutes;
+        }
+
+        public double getEarlyRefreshBeta() {
+            return earlyRefreshBeta;
+        }
+
+        public void setEarlyRefreshBeta(double earlyRefreshBeta) {
+            this.earlyRefreshBeta = earlyRefreshBeta;
+        }
+
+        public CircuitBreakerProperties getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreakerProperties circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        public ConcurrencyLimitProperties getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public void setConcurrencyLimit(ConcurrencyLimitProperties concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        public RateLimitProperties getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(RateLimitProperties rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public ConnectionPoolProperties getConnectionPool() {
+            return connectionPool;
+        }
+
+        public void setConnectionPool(ConnectionPoolProperties connectionPool) {
+            this.connectionPool = connectionPool;
+        }
+    }
+
+    /**
+     * Per-provider circuit breaker settings, e.g. rest.api.providers.fmp.circuit-breaker.failure-rate-threshold=50
+     * The breaker opens when the failure rate over the last sliding-window-size calls reaches the threshold,
+     * rejects calls for open-duration-ms, then lets half-open-permitted-calls trial calls through.
+     */
+    public static class CircuitBreakerProperties {
+
+        private boolean enabled = true;
+
+        @Min(value = 1, message = "Failure rate threshold must be at least 1 percent")
+        private int failureRateThreshold = 50; // Percent
+
+        @Min(value = 1, message = "Sliding window size must be at least 1")
+        private int slidingWindowSize = 20; // Calls
+
+        @Min(value = 1, message = "Minimum calls must be at least 1")
+        private int minimumCalls = 10; // Calls before the failure rate is evaluated
+
+        @Min(value = 1, message = "Open duration (ms) must be at least 1")
+        private long openDurationMs = 30000;
+
+        @Min(value = 1, message = "Half-open permitted calls must be at least 1")
+        private int halfOpenPermittedCalls = 3;
+
+        // A window smaller than minimum-calls never holds enough outcomes, so the breaker could never open
+        @AssertTrue(message = "Minimum calls must not exceed the sliding window size")
+        public boolean isMinimumCallsWithinWindow() {
+            return minimumCalls <= slidingWindowSize;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+
+        public int getHalfOpenPermittedCalls() {
+            return halfOpenPermittedCalls;
+        }
+
+        public void setHalfOpenPermittedCalls(int halfOpenPermittedCalls) {
+            this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+        }
+    }
+
+    /**
+     * Per-provider adaptive (AIMD) concurrency limit, e.g. rest.api.providers.fmp.concurrency-limit.max-limit=50
+     * The limit grows by about one per limit's worth of fast successful calls and is multiplied by backoff-ratio
+     * on a failure or a call slower than latency-threshold-ms. Calls over the limit are rejected immediately.
+     */
+    public static class ConcurrencyLimitProperties {
+
+        private boolean enabled = true;
+
+        @Min(value = 1, message = "Initial limit must be at least 1")
+        private int initialLimit = 20;
+
+        @Min(value = 1, message = "Min limit must be at least 1")
+        private int minLimit = 1;
+
+        @Min(value = 1, message = "Max limit must be at least 1")
+        private int maxLimit = 200;
+
+        @DecimalMin(value = "0.1", message = "Backoff ratio must be at least 0.1")
+        @DecimalMax(value = "0.99", message = "Backoff ratio must be at most 0.99")
+        private double backoffRatio = 0.9;
+
+        @Min(value = 1, message = "Latency threshold (ms) must be at least 1")
+        private long latencyThresholdMs = 2000;
+
+        // The limiter clamps to [min-limit, max-limit], so an initial limit outside it would be silently moved
+        @AssertTrue(message = "Limits must satisfy min-limit <= initial-limit <= max-limit")
+        public boolean isInitialLimitWithinBounds() {
+            return minLimit <= initialLimit && initialLimit <= maxLimit;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public long getLatencyThresholdMs() {
+            return latencyThresholdMs;
+        }
+
+        public void setLatencyThresholdMs(long latencyThresholdMs) {
+            this.latencyThresholdMs = latencyThresholdMs;
+        }
+    }
+
+    /**
+     * Per-provider cluster-wide rate limit, e.g. rest.api.providers.fmp.rate-limit.permits-per-second=5
+     * Every replica takes tokens from one bucket in Redis. Background calls may not take the last
+     * interactive-reserve tokens, and each priority gives up once its wait budget is spent.
+     */
+    public static class RateLimitProperties {
+
+        private boolean enabled = false;
+
+        @DecimalMin(value = "0.01", message = "Permits per second must be at least 0.01")
+        private double permitsPerSecond = 10;
+
+        @Min(value = 1, message = "Burst capacity must be at least 1")
+        private int burstCapacity = 20;
+
+        @Min(value = 0, message = "Interactive reserve must be non-negative")
+        private int interactiveReserve = 5;
+
+        @Min(value = 0, message = "Interactive max wait (ms) must be non-negative")
+        private long interactiveMaxWaitMs = 1000;
+
+        @Min(value = 0, message = "Background max wait (ms) must be non-negative")
+        private long backgroundMaxWaitMs = 30000;
+
+        // A reserve as large as the bucket would leave background calls no token they could ever take
+        @AssertTrue(message = "Interactive reserve must be less than the burst capacity")
+        public boolean isInteractiveReserveBelowBurstCapacity() {
+            return interactiveReserve < burstCapacity;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getInteractiveReserve() {
+            return interactiveReserve;
+        }
+
+        public void setInteractiveReserve(int interactiveReserve) {
+            this.interactiveReserve = interactiveReserve;
+        }
+
+        public long getInteractiveMaxWaitMs() {
+            return interactiveMaxWaitMs;
+        }
+
+        public void setInteractiveMaxWaitMs(long interactiveMaxWaitMs) {
+            this.interactiveMaxWaitMs = interactiveMaxWaitMs;
+        }
+
+        public long getBackgroundMaxWaitMs() {
+            return backgroundMaxWaitMs;
+        }
+
+        public void setBackgroundMaxWaitMs(long backgroundMaxWaitMs) {
+            this.backgroundMaxWaitMs = backgroundMaxWaitMs;
+        }
+    }
+
+    /**
+     * Per-provider HTTP connection pool, e.g. rest.api.providers.fmp.connection-pool.max-connections=50
+     * Connections are reused across calls, so TCP and TLS handshakes are paid once per connection
+     * rather than once per call; idle and max-life eviction retire connections before the provider
+     * or a load balancer silently drops them.
+     */
+    public static class ConnectionPoolProperties {
+
+        /**
+         * Wire protocols the client may negotiate. HTTP2 needs an https base URL (negotiated through ALPN);
+         * listing HTTP11 as well keeps HTTP/1.1 as the fallback for servers without HTTP/2.
+         */
+        public enum Protocol { HTTP11, HTTP2 }
+
+        @Min(value = 1, message = "Max connections must be at least 1")
+        private int maxConnections = 50;
+
+        @Min(value = 0, message = "Pending acquire max count must be non-negative")
+        private int pendingAcquireMaxCount = 500; // Calls allowed to queue for a connection once all are busy
+
+        @Min(value = 1, message = "Pending acquire timeout (ms) must be at least 1")
+        private long pendingAcquireTimeoutMs = 2000;
+
+        @Min(value = 1, message = "Max idle time (ms) must be at least 1")
+        private long maxIdleTimeMs = 30000;
+
+        @Min(value = 1, message = "Max life time (ms) must be at least 1")
+        private long maxLifeTimeMs = 300000;
+
+        @Min(value = 0, message = "Background eviction interval (ms) must be non-negative")
+        private long evictInBackgroundMs = 60000; // 0 evicts only when a connection is acquired
+
+        @Min(value = 1, message = "Connect timeout (ms) must be at least 1")
+        private int connectTimeoutMs = 2000;
+
+        private boolean compression = true; // Sends Accept-Encoding: gzip and decompresses responses
+
+        @NotEmpty(message = "At least one protocol must be configured")
+        private List<Protocol> protocols = List.of(Protocol.HTTP11);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        public long getPendingAcquireTimeoutMs() {
+            return pendingAcquireTimeoutMs;
+        }
+
+        public void setPendingAcquireTimeoutMs(long pendingAcquireTimeoutMs) {
+            this.pendingAcquireTimeoutMs = pendingAcquireTimeoutMs;
+        }
+
+        public long getMaxIdleTimeMs() {
+            return maxIdleTimeMs;
+        }
+
+        public void setMaxIdleTimeMs(long maxIdleTimeMs) {
+            this.maxIdleTimeMs = maxIdleTimeMs;
+        }
+
+        public long getMaxLifeTimeMs() {
+            return maxLifeTimeMs;
+        }
+
+        public void setMaxLifeTimeMs(long maxLifeTimeMs) {
+            this.maxLifeTimeMs = maxLifeTimeMs;
+        }
+
+        public long getEvictInBackgroundMs() {
+            return evictInBackgroundMs;
+        }
+
+        public void setEvictInBackgroundMs(long evictInBackgroundMs) {
+            this.evictInBackgroundMs = evictInBackgroundMs;
+        }
+
+        public int getConnectTimeoutMs() {
+            return connectTimeoutMs;
+        }
+
+        public void setConnectTimeoutMs(int connectTimeoutMs) {
+            this.connectTimeoutMs = connectTimeoutMs;
+        }
+
+        public boolean isCompression() {
+            return compression;
+        }
+
+        public void setCompression(boolean compression) {
+            this.compression = compression;
+        }
+
+        public List<Protocol> getProtocols() {
+            return protocols;
+        }
+
+        public void setProtocols(List<Protocol> protocols) {
+            this.protocols = protocols;
+        }
     }
 
     // --- Getter and Setter for the 'providers' map in the main class ---
@@ -0,0 +1,39 @@
+// src/main/java/com/interview/service_p/config/TickerRefreshProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.ticker.refresh") // Binds properties starting with 'app.ticker.refresh'
+@Validated
+public class TickerRefreshProperties {
+
+    // Background refresh workers (stale-while-revalidate and early refresh)
+    @Min(value = 1, message = "Refresh threads must be at least 1")
+    private int threads = 2;
+
+    // Refresh batches waiting for a worker; further batches are dropped and retried on a later request
+    @Min(value = 1, message = "Refresh queue capacity must be at least 1")
+    private int queueCapacity = 100;
+
+    // --- Getters ---
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    // --- Setters ---
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
@@ -0,0 +1,185 @@
+// src/main/java/com/interview/service_p/config/TickerStatisticRedisSerializer.java
+package com.interview.service_p.config;
+
+import com.interview.service_p.model.TickerStatistic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding of TickerStatistic for Redis values.
+ *
+ * Layout (version 1):
+ * <pre>
+ *   byte     version (0x01)
+ *   byte     flags: bit0 stale, bit1 symbol present, bit2 lastUpdated as number, bit3 lastUpdated as text
+ *   varint   symbol length, then UTF-8 bytes (if present)
+ *   double   price, volume, peRatio (8 bytes each, big-endian)
+ *   varlong  fetchedAt (epoch millis)
+ *   varlong  lastUpdated when it is a plain non-negative integer such as FMP's epoch-seconds timestamp,
+ *            otherwise varint length and UTF-8 bytes (if present)
+ * </pre>
+ * A value whose first byte is not a known version is read as JSON, so entries written before this codec
+ * stay readable until they expire. JSON values always start with '{', which is never a version byte.
+ */
+public class TickerStatisticRedisSerializer implements RedisSerializer<TickerStatistic> {
+
+    static final byte VERSION_1 = 0x01;
+
+    private static final int FLAG_STALE = 1;
+    private static final int FLAG_SYMBOL = 1 << 1;
+    private static final int FLAG_LAST_UPDATED_NUMBER = 1 << 2;
+    private static final int FLAG_LAST_UPDATED_TEXT = 1 << 3;
+
+    private final RedisSerializer<TickerStatistic> jsonSerializer;
+    private final boolean writeBinary;
+
+    /**
+     * @param jsonSerializer Reads legacy JSON values, and writes values when writeBinary is false.
+     * @param writeBinary True to write the binary format; false to keep writing JSON (e.g. during a rolling upgrade).
+     */
+    public TickerStatisticRedisSerializer(RedisSerializer<TickerStatistic> jsonSerializer, boolean writeBinary) {
+        this.jsonSerializer = jsonSerializer;
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public byte[] serialize(TickerStatistic statistic) throws SerializationException {
+        if (statistic == null) {
+            return null;
+        }
+        if (!writeBinary) {
+            return jsonSerializer.serialize(statistic);
+        }
+
+        byte[] symbol = statistic.getSymbol() == null ? null : statistic.getSymbol().getBytes(StandardCharsets.UTF_8);
+        String lastUpdated = statistic.getLastUpdated();
+        long lastUpdatedNumber = parseCanonicalNonNegativeLong(lastUpdated);
+        byte[] lastUpdatedText = lastUpdated == null || lastUpdatedNumber >= 0 ? null : lastUpdated.getBytes(StandardCharsets.UTF_8);
+
+        int flags = 0;
+        int size = 2 + 3 * Double.BYTES + varLongSize(statistic.getFetchedAt());
+        if (statistic.isStale()) {
+            flags |= FLAG_STALE;
+        }
+        if (symbol != null) {
+            flags |= FLAG_SYMBOL;
+            size += varLongSize(symbol.length) + symbol.length;
+        }
+        if (lastUpdatedNumber >= 0) {
+            flags |= FLAG_LAST_UPDATED_NUMBER;
+            size += varLongSize(lastUpdatedNumber);
+        } else if (lastUpdatedText != null) {
+            flags |= FLAG_LAST_UPDATED_TEXT;
+            size += varLongSize(lastUpdatedText.length) + lastUpdatedText.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION_1);
+        buffer.put((byte) flags);
+        if (symbol != null) {
+            putVarLong(buffer, symbol.length);
+            buffer.put(symbol);
+        }
+        buffer.putDouble(statistic.getPrice());
+        buffer.putDouble(statistic.getVolume());
+        buffer.putDouble(statistic.getPeRatio());
+        putVarLong(buffer, statistic.getFetchedAt());
+        if (lastUpdatedNumber >= 0) {
+            putVarLong(buffer, lastUpdatedNumber);
+        } else if (lastUpdatedText != null) {
+            putVarLong(buffer, lastUpdatedText.length);
+            buffer.put(lastUpdatedText);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public TickerStatistic deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != VERSION_1) {
+            return jsonSerializer.deserialize(bytes); // Written before the binary codec, or by a node writing JSON
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+            int flags = buffer.get();
+            TickerStatistic statistic = new TickerStatistic();
+            statistic.setStale((flags & FLAG_STALE) != 0);
+            if ((flags & FLAG_SYMBOL) != 0) {
+                statistic.setSymbol(getString(buffer));
+            }
+            statistic.setPrice(buffer.getDouble());
+            statistic.setVolume(buffer.getDouble());
+            statistic.setPeRatio(buffer.getDouble());
+            statistic.setFetchedAt(getVarLong(buffer));
+            if ((flags & FLAG_LAST_UPDATED_NUMBER) != 0) {
+                statistic.setLastUpdated(Long.toString(getVarLong(buffer)));
+            } else if ((flags & FLAG_LAST_UPDATED_TEXT) != 0) {
+                statistic.setLastUpdated(getString(buffer));
+            }
+            return statistic;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not read binary TickerStatistic value", e);
+        }
+    }
+
+    // Returns the value if the text is exactly the decimal form of a non-negative long, otherwise -1
+    private static long parseCanonicalNonNegativeLong(String text) {
+        if (text == null || text.isEmpty() || text.length() > 18) {
+            return -1;
+        }
+        if (text.length() > 1 && text.charAt(0) == '0') {
+            return -1; // Leading zeros would not survive the round trip
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = (int) getVarLong(buffer);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on every byte but the last
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    private static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,60 @@
+// src/main/java/com/interview/service_p/config/TickerStatisticsProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.ticker.statistics") // Binds properties starting with 'app.ticker.statistics'
+@Validated
+public class TickerStatisticsProperties {
+
+    /**
+     * How /v1/ticker-statistics resolves a request.
+     */
+    public enum ExecutionMode {
+        BLOCKING, // Resolved on the servlet request thread
+        REACTIVE, // Resolved on a non-blocking pipeline; the servlet thread is released while upstream calls are in flight
+        VIRTUAL_THREADS // Tomcat requests run on virtual threads, and upstream calls are fanned out on virtual threads
+    }
+
+    @NotNull(message = "Execution mode cannot be null")
+    private ExecutionMode executionMode = ExecutionMode.BLOCKING;
+
+    // Upper bound on concurrent upstream calls fanned out for a single request
+    @Min(value = 1, message = "Max concurrency must be at least 1")
+    private int maxConcurrency = 8;
+
+    // Deadline for a request's FMP fan-out in VIRTUAL_THREADS mode (cache and DB reads are not covered); calls still running when it passes are cancelled
+    @Min(value = 1, message = "Request deadline (ms) must be at least 1")
+    private long requestDeadlineMs = 10000;
+
+    // --- Getters ---
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long getRequestDeadlineMs() {
+        return requestDeadlineMs;
+    }
+
+    // --- Setters ---
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public void setRequestDeadlineMs(long requestDeadlineMs) {
+        this.requestDeadlineMs = requestDeadlineMs;
+    }
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/interview/service_p/config/TickerUniverseProperties.java
+package com.interview.service_p.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@Component
+@ConfigurationProperties(prefix = "app.ticker.universe") // Binds properties starting with 'app.ticker.universe'
+@Validated
+public class TickerUniverseProperties {
+
+    // Set to false to skip building the in-memory columnar snapshot of every known symbol
+    private boolean enabled = true;
+
+    // How often the snapshot is rebuilt from Postgres, picking up rows other instances wrote
+    @Min(value = 1000, message = "Universe reload interval (ms) must be at least 1000")
+    private long reloadIntervalMs = 300000;
+
+    // --- Getters ---
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getReloadIntervalMs() {
+        return reloadIntervalMs;
+    }
+
+    // --- Setters ---
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setReloadIntervalMs(long reloadIntervalMs) {
+        this.reloadIntervalMs = reloadIntervalMs;
+    }
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/interview/service_p/config/VirtualThreadEnvironmentPostProcessor.java
+package com.interview.service_p.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns on Spring Boot's own virtual-thread support (spring.threads.virtual.enabled) when
+ * app.ticker.statistics.execution-mode=VIRTUAL_THREADS, so one switch covers Tomcat and the fan-out.
+ * Boot then owns the Tomcat executor and its lifecycle. An explicit spring.threads.virtual.enabled still wins.
+ * Registered in META-INF/spring.factories.
+ */
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String EXECUTION_MODE_PROPERTY = "app.ticker.statistics.execution-mode";
+    private static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String executionMode = environment.getProperty(EXECUTION_MODE_PROPERTY);
+        if (!TickerStatisticsProperties.ExecutionMode.VIRTUAL_THREADS.name().equalsIgnoreCase(executionMode)) {
+            return;
+        }
+        // Added last, so it only applies when nothing else sets the property
+        environment.getPropertySources().addLast(new MapPropertySource("tickerStatisticsVirtualThreads",
+                Map.of(VIRTUAL_THREADS_PROPERTY, "true")));
+    }
+}
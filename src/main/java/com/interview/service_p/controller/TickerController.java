@@ -1,23 +1,44 @@
 package com.interview.service_p.controller;
 
+import com.interview.service_p.config.TickerStatisticsProperties;
+import com.interview.service_p.model.kafka.BulkAnalysisSummary;
 import com.interview.service_p.model.kafka.TickerDetail;
+import com.interview.service_p.model.TickerPriceSnapshot;
 import com.interview.service_p.model.TickerRequest;
 import com.interview.service_p.model.TickerResponse;
+import com.interview.service_p.model.TickerStatisticEvent;
+import com.interview.service_p.model.TickerUniverse;
+import com.interview.service_p.service.TickerAnalysisBulkService;
+import com.interview.service_p.service.TickerPriceHistoryService;
 import com.interview.service_p.service.TickerService;
+import com.interview.service_p.service.TickerUniverseService;
+import com.interview.service_p.service.support.ColumnarTickerSnapshot;
 
 // import lombok.AllArgsConstructor;
 
 import org.slf4j.Logger; // Needed for manual logger
 import org.slf4j.LoggerFactory; // Needed for manual logger
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping; // IMPORTANT: Ensure this import is present
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 // Removed @AllArgsConstructor
@@ -29,26 +50,39 @@ public class TickerController {
     private static final Logger log = LoggerFactory.getLogger(TickerController.class);
 
     private final TickerService tickerService;
+    private final TickerStatisticsProperties tickerStatisticsProperties;
+    private final TickerAnalysisBulkService tickerAnalysisBulkService;
+    private final TickerPriceHistoryService tickerPriceHistoryService;
+    private final TickerUniverseService tickerUniverseService;
 
     // MANUAL CONSTRUCTOR FOR DEPENDENCY INJECTION
     // This explicitly initializes all 'final' fields.
-    public TickerController(TickerService tickerService) {
+    public TickerController(TickerService tickerService,
+                            TickerStatisticsProperties tickerStatisticsProperties,
+                            TickerAnalysisBulkService tickerAnalysisBulkService,
+                            TickerPriceHistoryService tickerPriceHistoryService,
+                            TickerUniverseService tickerUniverseService) {
         this.tickerService = tickerService;
+        this.tickerStatisticsProperties = tickerStatisticsProperties;
+        this.tickerAnalysisBulkService = tickerAnalysisBulkService;
+        this.tickerPriceHistoryService = tickerPriceHistoryService;
+        this.tickerUniverseService = tickerUniverseService;
     }
 
+    // Responds only after the broker acknowledges the message, but holds no request thread while waiting
     @PostMapping("/ticker-analysis-sync")
-    public ResponseEntity<String> tickerAnalysisSync(@RequestBody TickerDetail tickerDetail){ // Renamed method for clarity
+    public CompletableFuture<ResponseEntity<String>> tickerAnalysisSync(@RequestBody TickerDetail tickerDetail){ // Renamed method for clarity
 
 
         log.info("Initiating ticker analysis (synchronous) with ticker details: {}", tickerDetail); // Re-enabled log
-        try {
-            tickerService.initiateTickerAnalysis(tickerDetail);
-            return ResponseEntity.ok("Ticker analysis initiated successfully.");
-        } catch (Exception e) {
-            log.error("Error initiating ticker analysis (synchronous): {}", e.getMessage(), e); // Re-enabled log
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to initiate ticker analysis (synchronous): " + e.getMessage());
-        }
+        return tickerService.initiateTickerAnalysis(tickerDetail)
+                .thenApply(messageId -> ResponseEntity.ok("Ticker analysis initiated successfully. Message ID: " + messageId))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("Error initiating ticker analysis (synchronous): {}", cause.getMessage(), cause); // Re-enabled log
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body("Failed to initiate ticker analysis (synchronous): " + cause.getMessage());
+                });
     }
 
     @PostMapping("/ticker-analysis-async")
@@ -56,8 +90,9 @@ public class TickerController {
 
         log.info("Initiating ticker analysis (asynchronous) with ticker details: {}", tickerDetail); // Re-enabled log
         try {
-            tickerService.initiateTickerAnalysisAsynchronously(tickerDetail);
-            return ResponseEntity.ok("Ticker analysis initiated asynchronously. Check server logs for Kafka delivery status.");
+            String messageId = tickerService.initiateTickerAnalysisAsynchronously(tickerDetail);
+            return ResponseEntity.ok("Ticker analysis initiated asynchronously. Message ID: " + messageId
+                    + ". Check server logs for Kafka delivery status.");
         } catch (Exception e) {
             log.error("Error initiating ticker analysis (asynchronous): {}", e.getMessage(), e); // Re-enabled log
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -65,34 +100,99 @@ public class TickerController {
         }
     }
 
-    @PostMapping("/ticker-statistics")
-    public ResponseEntity<TickerResponse> getTickerStatistics(@RequestBody TickerRequest request) { // Changed to TickerRequest
+    /**
+     * Bulk variant of /ticker-analysis-async: the body is streamed NDJSON, one TickerDetail per line.
+     * Responds once every record has been acknowledged or has failed, with the message ID and outcome per line.
+     */
+    @PostMapping(value = "/ticker-analysis-bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BulkAnalysisSummary> tickerAnalysisBulk(InputStream body) {
+        log.info("Initiating bulk ticker analysis upload.");
+        try {
+            return ResponseEntity.ok(tickerAnalysisBulkService.ingest(body));
+        } catch (Exception e) {
+            log.error("Error reading bulk ticker analysis upload: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping(value = "/ticker-statistics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<TickerResponse>> getTickerStatistics(@RequestBody TickerRequest request) { // Changed to TickerRequest
         List<String> tickers = request.getTickers(); // Get tickers from the new request object
         log.info("Received request to fetch statistics for tickers: {}", tickers);
 
         if (tickers == null || tickers.isEmpty()) {
             log.warn("No tickers provided in the request for statistics.");
             //return ResponseEntity.badRequest().body(new TickerResponse(List.of())); // Corrected return type
-            return null;
+            return Mono.empty();
         }
 
+        // REACTIVE releases the servlet thread while upstream calls are in flight;
+        // BLOCKING resolves synchronously on the request thread during subscription.
+        Mono<TickerResponse> tickerResponseMono =
+                tickerStatisticsProperties.getExecutionMode() == TickerStatisticsProperties.ExecutionMode.REACTIVE
+                        ? tickerService.getTickerStatisticsReactive(tickers)
+                        : Mono.fromCallable(() -> tickerService.getTickerStatistics(tickers));
+
+        return tickerResponseMono
+                .map(ResponseEntity::ok) // Corrected: return tickerResponse
+                .switchIfEmpty(Mono.fromRunnable(() ->
+                        // Returning 200 OK with empty list is often preferred for "no results found"
+                        // rather than 404, unless the tickers themselves are invalid.
+                        log.info("No statistics found for the provided tickers: {}", tickers)))
+                .onErrorResume(e -> {
+                    log.error("Error fetching stock statistics for tickers {}: {}", tickers, e.getMessage(), e);
+                    //return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new TickerResponse(List.of())); // Corrected return type
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Streaming variant of /ticker-statistics, selected by the Accept header:
+     * application/x-ndjson writes one JSON record per line, text/event-stream writes one SSE event per record.
+     * Each symbol is written as soon as it resolves, with an explicit status for stale or unresolved symbols.
+     */
+    @PostMapping(value = "/ticker-statistics", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<TickerStatisticEvent> streamTickerStatistics(@RequestBody TickerRequest request) {
+        List<String> tickers = request.getTickers();
+        log.info("Received streaming request to fetch statistics for tickers: {}", tickers);
+
+        if (tickers == null || tickers.isEmpty()) {
+            log.warn("No tickers provided in the streaming request for statistics.");
+            return Flux.empty();
+        }
+        return tickerService.streamTickerStatistics(tickers);
+    }
+
+    /**
+     * Returns the fetched snapshots of one symbol, oldest first.
+     * The range defaults to the last 24 hours; from and to are ISO-8601 instants, e.g. 2026-10-01T00:00:00Z.
+     */
+    @GetMapping(value = "/ticker-history/{symbol}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TickerPriceSnapshot>> getTickerHistory(
+            @PathVariable String symbol,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "1000") int limit) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        log.info("Received request for price history of {} from {} to {}", symbol, start, end);
         try {
-            // Corrected: Call TickerService to fetch statistics
-            TickerResponse tickerResponse = tickerService.getTickerStatistics(tickers);
-            if (tickerResponse == null) {
-                log.info("No statistics found for the provided tickers: {}", tickers);
-                // Returning 200 OK with empty list is often preferred for "no results found"
-                // rather than 404, unless the tickers themselves are invalid.
-                //return ResponseEntity.ok(new TickerResponse(List.of())); // Corrected return type
-                return null;
-            }
-            return ResponseEntity.ok(tickerResponse); // Corrected: return tickerResponse
+            return ResponseEntity.ok(tickerPriceHistoryService.findHistory(symbol, start, end, limit));
         } catch (Exception e) {
-            log.error("Error fetching stock statistics for tickers {}: {}", tickers, e.getMessage(), e);
-            //return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new TickerResponse(List.of())); // Corrected return type
-            return null;
+            log.error("Error reading price history for {}: {}", symbol, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-
-}
\ No newline at end of file
+    /**
+     * Returns the latest known values of every symbol, in column form, from the in-memory universe snapshot.
+     * Never calls Redis, Postgres or FMP.
+     */
+    @GetMapping(value = "/ticker-universe", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TickerUniverse> getTickerUniverse() {
+        ColumnarTickerSnapshot snapshot = tickerUniverseService.snapshot();
+        log.info("Received request for the ticker universe ({} symbols)", snapshot.size());
+        return ResponseEntity.ok(new TickerUniverse(snapshot.symbols(), snapshot.prices(), snapshot.volumes(),
+                snapshot.peRatios(), snapshot.fetchedAtMillis()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.interview.service_p.entity;
+
+// src/main/java/com/interview/service_p/entity/AnalysisOutboxEntity.java
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * An analysis request accepted in outbox mode and waiting to be relayed to Kafka.
+ * The identity column doubles as the sequence key: the relay publishes rows in id order.
+ */
+@Entity
+@Table(name = "analysis_outbox", indexes = @Index(name = "idx_analysis_outbox_published_at", columnList = "published_at"))
+public class AnalysisOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "message_id", nullable = false)
+    private String messageId;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload; // TickerDetailPayload as JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt; // Null until the relay has had the message acknowledged by Kafka
+
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt; // Set when the row can never be published (e.g. an unreadable payload); the relay skips it
+
+    @Column(name = "failure_reason", length = 1000)
+    private String failureReason;
+
+    // --- Constructors ---
+    public AnalysisOutboxEntity() {
+    }
+
+    public AnalysisOutboxEntity(String messageId, String topic, String payload, LocalDateTime createdAt) {
+        this.messageId = messageId;
+        this.topic = topic;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // --- Getters ---
+    public Long getId() {
+        return id;
+    }
+
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    // --- Setters ---
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public void setFailedAt(LocalDateTime failedAt) {
+        this.failedAt = failedAt;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisOutboxEntity{" +
+                "id=" + id +
+                ", messageId='" + messageId + '\'' +
+                ", topic='" + topic + '\'' +
+                ", createdAt=" + createdAt +
+                ", publishedAt=" + publishedAt +
+                ", failedAt=" + failedAt +
+                '}';
+    }
+}
@@ -0,0 +1,14 @@
+// src/main/java/com/interview/service_p/model/TickerPriceSnapshot.java
+package com.interview.service_p.model;
+
+import java.time.Instant;
+
+/**
+ * One fetched quote for a symbol, as kept in the append-only price history.
+ *
+ * @param fetchedAt When we fetched the quote from the provider; the partitioning key.
+ * @param lastUpdated The provider's own timestamp for the quote.
+ */
+public record TickerPriceSnapshot(String symbol, Instant fetchedAt, double price, double volume, double peRatio,
+                                  String lastUpdated) {
+}
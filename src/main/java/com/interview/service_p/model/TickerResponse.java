@@ -5,7 +5,14 @@ import java.util.List;
 
 public class TickerResponse {
 
+    private final List<TickerStatistic> statistics;
 
-    public <E> TickerResponse(List<E> of) {
+    public TickerResponse(List<TickerStatistic> statistics) {
+        this.statistics = statistics;
+    }
+
+    // --- Getters ---
+    public List<TickerStatistic> getStatistics() {
+        return statistics;
     }
 }
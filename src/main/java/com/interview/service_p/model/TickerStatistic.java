@@ -2,6 +2,8 @@ package com.interview.service_p.model;
 
 // src/main/java/com/interview/service_p/model/TickerStatistic.java
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 // No Lombok for robustness, manually define getters/setters
 public class TickerStatistic { // Renamed class
     private String symbol;
@@ -9,6 +11,9 @@ public class TickerStatistic { // Renamed class
     private double volume;
     private double peRatio; // Price-to-Earnings Ratio (example statistic)
     private String lastUpdated; // Example: timestamp of the data
+    @JsonIgnore // Internal freshness bookkeeping: kept out of API responses and of JSON values older nodes read
+    private long fetchedAt; // Epoch millis when we fetched this from the provider; 0 if unknown
+    private boolean stale; // True when served past the staleness threshold while a background refresh runs
 
     // --- Getters ---
     public String getSymbol() {
@@ -31,6 +36,14 @@ public class TickerStatistic { // Renamed class
         return lastUpdated;
     }
 
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
     // --- Setters ---
     public void setSymbol(String symbol) {
         this.symbol = symbol;
@@ -52,6 +65,14 @@ public class TickerStatistic { // Renamed class
         this.lastUpdated = lastUpdated;
     }
 
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
     // --- toString() for logging/debugging ---
     @Override
     public String toString() {
@@ -61,6 +82,8 @@ public class TickerStatistic { // Renamed class
                 ", volume=" + volume +
                 ", peRatio=" + peRatio +
                 ", lastUpdated='" + lastUpdated + '\'' +
+                ", fetchedAt=" + fetchedAt +
+                ", stale=" + stale +
                 '}';
     }
 }
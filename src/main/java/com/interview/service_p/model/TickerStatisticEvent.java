@@ -0,0 +1,58 @@
+package com.interview.service_p.model;
+
+// src/main/java/com/interview/service_p/model/TickerStatisticEvent.java
+
+/**
+ * One record of a streamed ticker-statistics response, emitted as soon as its symbol resolves.
+ * Every requested symbol gets exactly one record, including symbols that could not be resolved.
+ */
+public class TickerStatisticEvent {
+
+    public enum Status {
+        FRESH, // Served from cache, DB or FMP within the staleness threshold
+        STALE, // Served from the DB past the staleness threshold; a refresh is under way or FMP is unavailable
+        UNAVAILABLE, // No tier had data for the symbol (unknown symbol, or FMP failed with nothing in the DB)
+        FAILED // An unexpected error stopped the symbol from being resolved
+    }
+
+    private final String symbol;
+    private final Status status;
+    private final TickerStatistic statistic; // Null unless status is FRESH or STALE
+    private final String message; // Null unless status is UNAVAILABLE or FAILED
+
+    private TickerStatisticEvent(String symbol, Status status, TickerStatistic statistic, String message) {
+        this.symbol = symbol;
+        this.status = status;
+        this.statistic = statistic;
+        this.message = message;
+    }
+
+    public static TickerStatisticEvent resolved(String symbol, TickerStatistic statistic) {
+        return new TickerStatisticEvent(symbol, statistic.isStale() ? Status.STALE : Status.FRESH, statistic, null);
+    }
+
+    public static TickerStatisticEvent unavailable(String symbol) {
+        return new TickerStatisticEvent(symbol, Status.UNAVAILABLE, null, "No data found in cache, DB or FMP");
+    }
+
+    public static TickerStatisticEvent failed(String symbol, String message) {
+        return new TickerStatisticEvent(symbol, Status.FAILED, null, message);
+    }
+
+    // --- Getters ---
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public TickerStatistic getStatistic() {
+        return statistic;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/interview/service_p/model/TickerUniverse.java
+package com.interview.service_p.model;
+
+/**
+ * Every known symbol in column form: the values for symbols[i] are at index i of each other array.
+ *
+ * @param fetchedAt When each row was fetched from the provider, in epoch millis.
+ */
+public record TickerUniverse(String[] symbols, double[] prices, double[] volumes, double[] peRatios, long[] fetchedAt) {
+}
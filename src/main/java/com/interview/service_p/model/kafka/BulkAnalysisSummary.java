@@ -0,0 +1,79 @@
+// src/main/java/com/interview/service_p/model/kafka/BulkAnalysisSummary.java
+package com.interview.service_p.model.kafka;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk analysis upload: one RecordResult per non-blank NDJSON line, in upload order.
+ */
+public class BulkAnalysisSummary {
+
+    private final int received;
+    private final int produced;
+    private final int failed;
+    private final List<RecordResult> records;
+
+    public BulkAnalysisSummary(int received, int produced, int failed, List<RecordResult> records) {
+        this.received = received;
+        this.produced = produced;
+        this.failed = failed;
+        this.records = records;
+    }
+
+    // --- Getters ---
+    public int getReceived() {
+        return received;
+    }
+
+    public int getProduced() {
+        return produced;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<RecordResult> getRecords() {
+        return records;
+    }
+
+    /**
+     * Result of a single uploaded record.
+     */
+    public static class RecordResult {
+
+        private final long line; // 1-based line number in the upload
+        private final String messageId; // Null if the line could not be parsed
+        private volatile boolean produced;
+        private volatile String error; // Null unless the record failed
+
+        public RecordResult(long line, String messageId) {
+            this.line = line;
+            this.messageId = messageId;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessageId() {
+            return messageId;
+        }
+
+        public boolean isProduced() {
+            return produced;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setProduced(boolean produced) {
+            this.produced = produced;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/interview/service_p/repository/AnalysisOutboxRepository.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.AnalysisOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AnalysisOutboxRepository extends JpaRepository<AnalysisOutboxEntity, Long>, AnalysisOutboxRepositoryCustom {
+}
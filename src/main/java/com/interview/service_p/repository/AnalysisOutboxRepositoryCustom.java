@@ -0,0 +1,45 @@
+// src/main/java/com/interview/service_p/repository/AnalysisOutboxRepositoryCustom.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.AnalysisOutboxEntity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// Relay operations that Spring Data cannot derive; implemented in AnalysisOutboxRepositoryCustomImpl
+public interface AnalysisOutboxRepositoryCustom {
+
+    /**
+     * Inserts the given rows with multi-row INSERT statements instead of one statement per row.
+     * @return The number of rows inserted.
+     */
+    int insertAll(List<AnalysisOutboxEntity> entities);
+
+    /**
+     * Locks and returns the oldest unpublished rows that have not failed with "FOR UPDATE SKIP LOCKED", so concurrent relays
+     * on other replicas claim disjoint batches instead of waiting on each other.
+     * Must run inside a transaction; the rows stay claimed until it ends.
+     * @param limit The maximum number of rows to claim.
+     * @return The claimed rows, in id order.
+     */
+    List<AnalysisOutboxEntity> claimUnpublished(int limit);
+
+    /**
+     * Marks the given rows as published with a single UPDATE.
+     * @return The number of rows updated.
+     */
+    int markPublished(Collection<Long> ids, LocalDateTime publishedAt);
+
+    /**
+     * Marks a row as permanently failed, so the relay stops claiming it. The row is kept for inspection.
+     * @return The number of rows updated.
+     */
+    int markFailed(long id, LocalDateTime failedAt, String reason);
+
+    /**
+     * Deletes rows published before the given time.
+     * @return The number of rows deleted.
+     */
+    int deletePublishedBefore(LocalDateTime cutoff);
+}
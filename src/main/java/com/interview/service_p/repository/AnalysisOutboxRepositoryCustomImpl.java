@@ -0,0 +1,105 @@
+// src/main/java/com/interview/service_p/repository/AnalysisOutboxRepositoryCustomImpl.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.AnalysisOutboxEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class AnalysisOutboxRepositoryCustomImpl implements AnalysisOutboxRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO analysis_outbox (message_id, topic, payload, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?)";
+    private static final int COLUMNS_PER_ROW = 4;
+    // PostgreSQL caps bind parameters per statement at 65535; stay well below it
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final String CLAIM_SQL =
+            "SELECT id, message_id, topic, payload, created_at FROM analysis_outbox " +
+            "WHERE published_at IS NULL AND failed_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String MARK_PUBLISHED_SQL =
+            "UPDATE analysis_outbox SET published_at = ? WHERE id = ANY (?)";
+    private static final String MARK_FAILED_SQL =
+            "UPDATE analysis_outbox SET failed_at = ?, failure_reason = ? WHERE id = ?";
+    private static final String DELETE_PUBLISHED_SQL =
+            "DELETE FROM analysis_outbox WHERE published_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalysisOutboxRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<AnalysisOutboxEntity> entities) {
+        int inserted = 0;
+        for (int from = 0; from < entities.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AnalysisOutboxEntity> chunk = entities.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, entities.size()));
+            inserted += jdbcTemplate.update(buildInsertSql(chunk.size()), toArgs(chunk));
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<AnalysisOutboxEntity> claimUnpublished(int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            AnalysisOutboxEntity entity = new AnalysisOutboxEntity(
+                    rs.getString("message_id"),
+                    rs.getString("topic"),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+            entity.setId(rs.getLong("id"));
+            return entity;
+        }, limit);
+    }
+
+    @Override
+    public int markPublished(Collection<Long> ids, LocalDateTime publishedAt) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // One array parameter instead of one placeholder per id
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(MARK_PUBLISHED_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(publishedAt));
+            statement.setArray(2, connection.createArrayOf("bigint", ids.toArray()));
+            return statement;
+        });
+    }
+
+    @Override
+    public int markFailed(long id, LocalDateTime failedAt, String reason) {
+        return jdbcTemplate.update(MARK_FAILED_SQL, Timestamp.valueOf(failedAt), reason, id);
+    }
+
+    @Override
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_PUBLISHED_SQL, Timestamp.valueOf(cutoff));
+    }
+
+    private String buildInsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private Object[] toArgs(List<AnalysisOutboxEntity> chunk) {
+        Object[] args = new Object[chunk.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (AnalysisOutboxEntity entity : chunk) {
+            args[i++] = entity.getMessageId();
+            args[i++] = entity.getTopic();
+            args[i++] = entity.getPayload();
+            args[i++] = Timestamp.valueOf(entity.getCreatedAt());
+        }
+        return args;
+    }
+}
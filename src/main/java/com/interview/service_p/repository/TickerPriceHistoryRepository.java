@@ -0,0 +1,163 @@
+// src/main/java/com/interview/service_p/repository/TickerPriceHistoryRepository.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.model.TickerPriceSnapshot;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to ticker_price_history, an append-only table range-partitioned by fetched_at into one
+ * partition per UTC day. Hibernate cannot create partitioned tables, so the DDL lives here too.
+ * Indexes are declared on the parent and inherited by every partition: a BRIN index on fetched_at (a few
+ * pages per partition, since rows arrive in time order) and a B-tree on (symbol, fetched_at) for per-symbol ranges.
+ */
+@Repository
+public class TickerPriceHistoryRepository {
+
+    private static final String TABLE = "ticker_price_history";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " (" +
+            "symbol VARCHAR(32) NOT NULL, " +
+            "fetched_at TIMESTAMPTZ NOT NULL, " +
+            "price DOUBLE PRECISION NOT NULL, " +
+            "volume DOUBLE PRECISION NOT NULL, " +
+            "pe_ratio DOUBLE PRECISION NOT NULL, " +
+            "last_updated_api VARCHAR(64)" +
+            ") PARTITION BY RANGE (fetched_at)";
+    private static final String CREATE_BRIN_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS " + TABLE + "_fetched_at_brin ON " + TABLE + " USING BRIN (fetched_at)";
+    private static final String CREATE_SYMBOL_INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS " + TABLE + "_symbol_fetched_at_idx ON " + TABLE + " (symbol, fetched_at)";
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits " +
+            "JOIN pg_class parent ON pg_inherits.inhparent = parent.oid " +
+            "JOIN pg_class child ON pg_inherits.inhrelid = child.oid " +
+            "WHERE parent.relname = '" + TABLE + "'";
+    private static final String INSERT_PREFIX =
+            "INSERT INTO " + TABLE + " (symbol, fetched_at, price, volume, pe_ratio, last_updated_api) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?)";
+    private static final String FIND_RANGE_SQL =
+            "SELECT symbol, fetched_at, price, volume, pe_ratio, last_updated_api FROM " + TABLE + " " +
+            "WHERE symbol = ? AND fetched_at >= ? AND fetched_at < ? ORDER BY fetched_at LIMIT ?";
+    private static final int COLUMNS_PER_ROW = 6;
+    // PostgreSQL caps bind parameters per statement at 65535; stay well below it
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TickerPriceHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the partitioned parent table and its indexes if they do not exist yet.
+     */
+    public void createTableIfMissing() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.execute(CREATE_BRIN_INDEX_SQL);
+        jdbcTemplate.execute(CREATE_SYMBOL_INDEX_SQL);
+    }
+
+    /**
+     * Creates the partition holding [day 00:00 UTC, next day 00:00 UTC) if it does not exist yet.
+     */
+    public void createPartitionIfMissing(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + day + " 00:00:00+00') TO ('" + day.plusDays(1) + " 00:00:00+00')");
+    }
+
+    /**
+     * @return The days that currently have a partition.
+     */
+    public List<LocalDate> findPartitionDays() {
+        List<LocalDate> days = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                days.add(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Drops a whole day of history; a metadata operation, unlike DELETE, so it leaves no dead rows to vacuum.
+     */
+    public void dropPartition(LocalDate day) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(day));
+    }
+
+    /**
+     * Appends snapshots with multi-row INSERT statements. The partitions for their days must exist.
+     * @return The number of rows inserted.
+     */
+    public int insertAll(List<TickerPriceSnapshot> snapshots) {
+        int written = 0;
+        for (int from = 0; from < snapshots.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<TickerPriceSnapshot> chunk = snapshots.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, snapshots.size()));
+            written += jdbcTemplate.update(buildInsertSql(chunk.size()), toArgs(chunk));
+        }
+        return written;
+    }
+
+    /**
+     * @return The symbol's snapshots fetched in [from, to), oldest first, at most {@code limit} of them.
+     *         Only the partitions overlapping the range are scanned.
+     */
+    public List<TickerPriceSnapshot> findBySymbolBetween(String symbol, Instant from, Instant to, int limit) {
+        return jdbcTemplate.query(FIND_RANGE_SQL, (rs, rowNum) -> new TickerPriceSnapshot(
+                        rs.getString("symbol"),
+                        rs.getTimestamp("fetched_at").toInstant(),
+                        rs.getDouble("price"),
+                        rs.getDouble("volume"),
+                        rs.getDouble("pe_ratio"),
+                        rs.getString("last_updated_api")),
+                symbol, Timestamp.from(from), Timestamp.from(to), limit);
+    }
+
+    /**
+     * @return The UTC day whose partition holds the given instant.
+     */
+    public static LocalDate partitionDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    private String buildInsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private Object[] toArgs(List<TickerPriceSnapshot> chunk) {
+        Object[] args = new Object[chunk.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (TickerPriceSnapshot snapshot : chunk) {
+            args[i++] = snapshot.symbol();
+            args[i++] = Timestamp.from(snapshot.fetchedAt());
+            args[i++] = snapshot.price();
+            args[i++] = snapshot.volume();
+            args[i++] = snapshot.peRatio();
+            args[i++] = snapshot.lastUpdated();
+        }
+        return args;
+    }
+}
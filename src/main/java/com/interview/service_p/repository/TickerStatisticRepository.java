@@ -5,10 +5,15 @@ import com.interview.service_p.entity.TickerStatisticEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TickerStatisticRepository extends JpaRepository<TickerStatisticEntity, String> { // Updated entity type
+public interface TickerStatisticRepository extends JpaRepository<TickerStatisticEntity, String>, TickerStatisticRepositoryCustom { // Updated entity type
     // Custom method to find a ticker statistic by its symbol (which is the ID)
     Optional<TickerStatisticEntity> findBySymbol(String symbol);
+
+    // Set-based lookup: a single "WHERE symbol IN (...)" returning full rows, including lastFetchedTime
+    List<TickerStatisticEntity> findAllBySymbolIn(Collection<String> symbols);
 }
@@ -0,0 +1,17 @@
+// src/main/java/com/interview/service_p/repository/TickerStatisticRepositoryCustom.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.TickerStatisticEntity;
+
+import java.util.Collection;
+
+// Bulk operations that Spring Data cannot derive; implemented in TickerStatisticRepositoryCustomImpl
+public interface TickerStatisticRepositoryCustom {
+
+    /**
+     * Inserts or updates all given rows with multi-row "INSERT ... ON CONFLICT (symbol) DO UPDATE" statements.
+     * @param entities The rows to write. If a symbol appears more than once, the last occurrence wins.
+     * @return The number of rows inserted or updated.
+     */
+    int upsertAll(Collection<TickerStatisticEntity> entities);
+}
@@ -0,0 +1,76 @@
+// src/main/java/com/interview/service_p/repository/TickerStatisticRepositoryCustomImpl.java
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.TickerStatisticEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TickerStatisticRepositoryCustomImpl implements TickerStatisticRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO ticker_statistics (symbol, price, volume, pe_ratio, last_updated_api, last_fetched_time) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?)";
+    private static final String ON_CONFLICT_SUFFIX = " ON CONFLICT (symbol) DO UPDATE SET " +
+            "price = EXCLUDED.price, " +
+            "volume = EXCLUDED.volume, " +
+            "pe_ratio = EXCLUDED.pe_ratio, " +
+            "last_updated_api = EXCLUDED.last_updated_api, " +
+            "last_fetched_time = EXCLUDED.last_fetched_time";
+    private static final int COLUMNS_PER_ROW = 6;
+    // PostgreSQL caps bind parameters per statement at 65535; stay well below it
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TickerStatisticRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertAll(Collection<TickerStatisticEntity> entities) {
+        // A single statement may not touch the same row twice, so collapse duplicate symbols first
+        Map<String, TickerStatisticEntity> bySymbol = new LinkedHashMap<>();
+        for (TickerStatisticEntity entity : entities) {
+            bySymbol.put(entity.getSymbol(), entity);
+        }
+
+        List<TickerStatisticEntity> rows = new ArrayList<>(bySymbol.values());
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<TickerStatisticEntity> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            written += jdbcTemplate.update(buildUpsertSql(chunk.size()), toArgs(chunk));
+        }
+        return written;
+    }
+
+    private String buildUpsertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.append(ON_CONFLICT_SUFFIX).toString();
+    }
+
+    private Object[] toArgs(List<TickerStatisticEntity> chunk) {
+        Object[] args = new Object[chunk.size() * COLUMNS_PER_ROW];
+        int i = 0;
+        for (TickerStatisticEntity entity : chunk) {
+            args[i++] = entity.getSymbol();
+            args[i++] = entity.getPrice();
+            args[i++] = entity.getVolume();
+            args[i++] = entity.getPeRatio();
+            args[i++] = entity.getLastUpdatedApi();
+            args[i++] = Timestamp.valueOf(entity.getLastFetchedTime());
+        }
+        return args;
+    }
+}
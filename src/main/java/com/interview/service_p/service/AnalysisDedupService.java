@@ -0,0 +1,248 @@
+// src/main/java/com/interview/service_p/service/AnalysisDedupService.java
+package com.interview.service_p.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.service_p.config.AnalysisDedupProperties;
+import com.interview.service_p.model.kafka.TickerDetail;
+import com.interview.service_p.model.kafka.TickerQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collapses identical analysis requests submitted within a short window into one message.
+ * A request is identified by a fingerprint of its normalized queries and email; the first request
+ * claims the fingerprint with its message ID (locally, then cluster-wide with Redis SET NX EX),
+ * and later identical requests within the window get that message ID back instead of producing again.
+ * <p>
+ * A local duplicate only learns the message ID once the first request's Redis claim has settled,
+ * and can wait for the first request's delivery: it succeeds only if the original is delivered.
+ */
+@Service
+public class AnalysisDedupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisDedupService.class);
+    private static final String KEY_PREFIX = "analysis-dedup:";
+
+    private final AnalysisDedupProperties dedupProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisScript<Long> compareAndDeleteScript;
+    private final Cache<String, Claim> claimed; // Fingerprint -> claim of the first request
+    private final Counter duplicates;
+
+    public AnalysisDedupService(AnalysisDedupProperties dedupProperties,
+                                StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry) {
+        this.dedupProperties = dedupProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.compareAndDeleteScript = RedisScript.of(new ClassPathResource("scripts/compare_and_delete.lua"), Long.class);
+        this.claimed = Caffeine.newBuilder()
+                .maximumSize(dedupProperties.getLocalMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(dedupProperties.getWindowSeconds()))
+                .build();
+        this.duplicates = Counter.builder("analysis.dedup.duplicates")
+                .description("Analysis requests answered with the message ID of an identical earlier request")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The outcome of claiming a request's fingerprint.
+     * The owner produces the message and must report it with delivered or release; everyone else is a duplicate.
+     */
+    public static final class Claim {
+
+        private final String fingerprint;
+        private final String messageId; // The ID this claim was made with
+        private final boolean owner;
+        // Completes with the message ID the cluster settled on, once the Redis claim has resolved
+        private final CompletableFuture<String> winner;
+        // Completes with the winning message ID once it is delivered, or exceptionally if it is released
+        private final CompletableFuture<String> delivery;
+        // The original request's own ID, answered if its Redis claim has not settled within maxWaitMs
+        private final String provisionalId;
+        private final long maxWaitMs;
+
+        private Claim(String fingerprint, String messageId, boolean owner,
+                      CompletableFuture<String> winner, CompletableFuture<String> delivery,
+                      String provisionalId, long maxWaitMs) {
+            this.fingerprint = fingerprint;
+            this.messageId = messageId;
+            this.owner = owner;
+            this.winner = winner;
+            this.delivery = delivery;
+            this.provisionalId = provisionalId;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        /**
+         * @return True if this request must be produced, false if it is a duplicate of an earlier one.
+         */
+        public boolean isOwner() {
+            return owner;
+        }
+
+        /**
+         * @return The message ID the request is tracked under. A duplicate waits for the original's claim to settle,
+         *         for at most the configured claim wait; after that it answers with the original's local ID, which
+         *         differs from the settled one only if another node claimed the request first.
+         */
+        public String messageId() {
+            if (owner) {
+                return messageId;
+            }
+            try {
+                return winner.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                return provisionalId;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Preserve interrupt status
+                return provisionalId;
+            }
+        }
+
+        /**
+         * @return A future of the tracked message ID that completes once the original request is delivered,
+         *         or exceptionally if it could not be. A duplicate of a request claimed on another node completes
+         *         at once, since that node's delivery cannot be observed here.
+         */
+        public CompletableFuture<String> delivered() {
+            return delivery.copy(); // Callers must not be able to complete the shared future
+        }
+    }
+
+    /**
+     * Claims the request's fingerprint for the given message ID, unless an identical request claimed it
+     * within the window.
+     * @param tickerDetail The incoming request.
+     * @param messageId The message ID the request would be produced under.
+     * @return The claim; isOwner tells whether this request is the first.
+     */
+    public Claim claim(TickerDetail tickerDetail, String messageId) {
+        if (!dedupProperties.isEnabled()) {
+            return new Claim(null, messageId, true, CompletableFuture.completedFuture(messageId), new CompletableFuture<>(),
+                    messageId, 0);
+        }
+        String fingerprint = fingerprint(tickerDetail);
+        Claim mine = new Claim(fingerprint, messageId, true, new CompletableFuture<>(), new CompletableFuture<>(),
+                messageId, 0);
+
+        // Local first: resubmissions usually land on the same node and never need a Redis round trip
+        Claim original = claimed.asMap().putIfAbsent(fingerprint, mine);
+        if (original != null) {
+            return duplicateOf(original, messageId);
+        }
+        String winner = messageId;
+        try {
+            Boolean first = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(KEY_PREFIX + fingerprint, messageId, Duration.ofSeconds(dedupProperties.getWindowSeconds()));
+            if (Boolean.FALSE.equals(first)) {
+                String clusterOriginal = stringRedisTemplate.opsForValue().get(KEY_PREFIX + fingerprint);
+                if (clusterOriginal != null) {
+                    winner = clusterOriginal;
+                }
+            }
+        } catch (Exception e) {
+            // Fall back to local-only dedup; duplicates from other replicas get through until Redis is back
+            log.error("Error claiming analysis dedup fingerprint in Redis: {}", e.getMessage(), e);
+        } finally {
+            // Local duplicates that arrived meanwhile are waiting for this
+            mine.winner.complete(winner);
+        }
+        if (!winner.equals(messageId)) {
+            // Another node produced it; local duplicates of this request follow that node's message
+            mine.delivery.complete(winner);
+            Claim clusterDuplicate = new Claim(fingerprint, messageId, false, mine.winner, mine.delivery, winner, 0);
+            logDuplicate(winner, messageId);
+            return clusterDuplicate;
+        }
+        return mine;
+    }
+
+    /**
+     * Records that the owner's message was delivered; duplicates waiting on it complete with its message ID.
+     * @param claim The owner's claim.
+     */
+    public void delivered(Claim claim) {
+        if (claim.owner) {
+            claim.delivery.complete(claim.messageId);
+        }
+    }
+
+    /**
+     * Gives up a claim whose message could not be delivered, so that a retry of the same request is produced.
+     * Duplicates waiting on it fail with the same cause.
+     * @param claim The owner's claim.
+     * @param cause Why the message could not be delivered.
+     */
+    public void release(Claim claim, Throwable cause) {
+        if (!claim.owner) {
+            return;
+        }
+        claim.delivery.completeExceptionally(cause);
+        if (claim.fingerprint == null) {
+            return; // Dedup was disabled when the claim was made
+        }
+        claimed.asMap().remove(claim.fingerprint, claim);
+        try {
+            stringRedisTemplate.execute(compareAndDeleteScript, List.of(KEY_PREFIX + claim.fingerprint), claim.messageId);
+        } catch (Exception e) {
+            log.error("Error releasing analysis dedup fingerprint in Redis: {}", e.getMessage(), e);
+        }
+    }
+
+    private Claim duplicateOf(Claim original, String messageId) {
+        // The original's ID is only published once its Redis claim settled on the cluster-wide winner
+        original.winner.thenAccept(winner -> logDuplicate(winner, messageId));
+        return new Claim(original.fingerprint, messageId, false, original.winner, original.delivery,
+                original.messageId, dedupProperties.getClaimWaitMs());
+    }
+
+    private void logDuplicate(String original, String messageId) {
+        duplicates.increment();
+        log.info("Analysis request is a duplicate of message ID: {} within the {}s window; not producing {}.",
+                original, dedupProperties.getWindowSeconds(), messageId);
+    }
+
+    // SHA-256 over the sorted, trimmed, case-normalized queries and email, so formatting differences do not matter
+    private static String fingerprint(TickerDetail tickerDetail) {
+        StringBuilder canonical = new StringBuilder();
+        List<TickerQuery> queries = tickerDetail.getTickers() == null ? List.of() : tickerDetail.getTickers();
+        queries.stream()
+                .filter(Objects::nonNull)
+                .map(query -> normalize(query.ticker()).toUpperCase(Locale.ROOT) + '\u0001' + normalize(query.query()))
+                .sorted()
+                .distinct()
+                .forEach(query -> canonical.append(query).append('\u0002'));
+        canonical.append('\u0003').append(normalize(tickerDetail.getEmail()).toLowerCase(Locale.ROOT));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Mandatory in every JRE
+        }
+    }
+
+    // Trims and collapses internal whitespace
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,190 @@
+// src/main/java/com/interview/service_p/service/AnalysisOutboxService.java
+package com.interview.service_p.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.config.KafkaProducerProperties;
+import com.interview.service_p.entity.AnalysisOutboxEntity;
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import com.interview.service_p.repository.AnalysisOutboxRepository;
+import com.interview.service_p.service.support.KafkaSendMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Transactional outbox for analysis requests (app.kafka.producer.delivery-mode=OUTBOX).
+ * Accepting a request is one local insert; the relay claims unpublished rows in batches with
+ * FOR UPDATE SKIP LOCKED, publishes each batch to Kafka, and marks the acknowledged rows published
+ * with one UPDATE in the same transaction. A crash before the commit releases the claim, so rows
+ * are published at least once. A row whose payload cannot be read is marked failed instead, so it
+ * never blocks the rows behind it.
+ */
+@Service
+public class AnalysisOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisOutboxService.class);
+
+    private final AnalysisOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, TickerDetailPayload> kafkaTemplate;
+    private final KafkaProducerProperties kafkaProducerProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaSendMetrics kafkaSendMetrics;
+    private final Counter failedRows;
+
+    public AnalysisOutboxService(AnalysisOutboxRepository outboxRepository,
+                                 KafkaTemplate<String, TickerDetailPayload> kafkaTemplate,
+                                 KafkaProducerProperties kafkaProducerProperties,
+                                 ObjectMapper objectMapper,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaProducerProperties = kafkaProducerProperties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaSendMetrics = new KafkaSendMetrics(meterRegistry);
+        this.failedRows = Counter.builder("analysis.outbox.failed")
+                .description("Outbox rows marked failed because they can never be published")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores a message for the relay to publish.
+     * @throws IllegalStateException If the payload cannot be serialized.
+     */
+    public void enqueue(String topic, String messageId, TickerDetailPayload payload) {
+        try {
+            outboxRepository.save(new AnalysisOutboxEntity(messageId, topic,
+                    objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize payload for message ID: " + messageId, e);
+        }
+        log.info("Stored message ID: {} in the analysis outbox for topic '{}'.", messageId, topic);
+    }
+
+    /**
+     * Stores several messages for the relay to publish, with multi-row inserts in one transaction.
+     * @param topic The topic every message goes to.
+     * @param payloads The messages, each carrying its own message ID.
+     * @throws IllegalStateException If a payload cannot be serialized; nothing is stored then.
+     */
+    public void enqueueAll(String topic, List<TickerDetailPayload> payloads) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AnalysisOutboxEntity> rows = new ArrayList<>(payloads.size());
+        for (TickerDetailPayload payload : payloads) {
+            try {
+                rows.add(new AnalysisOutboxEntity(payload.messageId(), topic, objectMapper.writeValueAsString(payload), now));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize payload for message ID: " + payload.messageId(), e);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.insertAll(rows));
+        log.info("Stored {} messages in the analysis outbox for topic '{}'.", rows.size(), topic);
+    }
+
+    /**
+     * Publishes unpublished rows batch by batch until the outbox is drained or a batch is only partly acknowledged.
+     */
+    @Scheduled(fixedDelayString = "${app.kafka.producer.outbox.poll-interval-ms:200}")
+    public void relay() {
+        if (kafkaProducerProperties.getDeliveryMode() != KafkaProducerProperties.DeliveryMode.OUTBOX) {
+            return;
+        }
+        int batchSize = kafkaProducerProperties.getOutbox().getBatchSize();
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch(batchSize));
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.error("Error relaying the analysis outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    // Deletes published rows past the retention period
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void purgePublished() {
+        if (kafkaProducerProperties.getDeliveryMode() != KafkaProducerProperties.DeliveryMode.OUTBOX) {
+            return;
+        }
+        int deleted = outboxRepository.deletePublishedBefore(
+                LocalDateTime.now().minusHours(kafkaProducerProperties.getOutbox().getRetentionHours()));
+        if (deleted > 0) {
+            log.info("Deleted {} published rows from the analysis outbox.", deleted);
+        }
+    }
+
+    // Returns how many claimed rows were settled (acknowledged or failed), or -1 if some were not (they stay for the next poll)
+    private int relayBatch(int batchSize) {
+        List<AnalysisOutboxEntity> claimed = outboxRepository.claimUnpublished(batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        // Hand the whole batch to the producer before waiting, so it goes out in as few requests as possible
+        List<AnalysisOutboxEntity> sent = new ArrayList<>(claimed.size());
+        List<CompletableFuture<SendResult<String, TickerDetailPayload>>> sends = new ArrayList<>(claimed.size());
+        int failed = 0;
+        for (AnalysisOutboxEntity row : claimed) {
+            TickerDetailPayload payload;
+            try {
+                payload = objectMapper.readValue(row.getPayload(), TickerDetailPayload.class);
+            } catch (IOException e) {
+                // Retrying cannot help; park the row so later polls do not claim it again
+                log.error("Marking unreadable outbox row {} (message ID: {}) as failed: {}", row.getId(), row.getMessageId(), e.getMessage());
+                outboxRepository.markFailed(row.getId(), LocalDateTime.now(), "Unreadable payload: " + abbreviate(e.getMessage()));
+                failedRows.increment();
+                failed++;
+                continue;
+            }
+            sent.add(row);
+            sends.add(kafkaSendMetrics.record(row.getTopic(),
+                    () -> kafkaTemplate.send(row.getTopic(), row.getMessageId(), payload)));
+        }
+
+        long deadline = System.currentTimeMillis() + kafkaProducerProperties.getOutbox().getSendTimeoutMs();
+        List<Long> acknowledged = new ArrayList<>(sent.size());
+        for (int i = 0; i < sent.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                acknowledged.add(sent.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Preserve interrupt status
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Outbox message ID: {} not acknowledged; it will be retried. Error: {}",
+                        sent.get(i).getMessageId(), e.getMessage());
+            }
+        }
+
+        outboxRepository.markPublished(acknowledged, LocalDateTime.now());
+        log.info("Relayed {} of {} claimed outbox rows to Kafka ({} failed).", acknowledged.size(), claimed.size(), failed);
+        int settled = acknowledged.size() + failed;
+        return settled == claimed.size() ? settled : -1;
+    }
+
+    // Keeps the failure reason within the failure_reason column
+    private static String abbreviate(String message) {
+        if (message == null) {
+            return "";
+        }
+        return message.length() <= 900 ? message : message.substring(0, 900);
+    }
+}
@@ -0,0 +1,87 @@
+// src/main/java/com/interview/service_p/service/DistributedRateLimiter.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.RestConfigProperties.RateLimitProperties;
+import com.interview.service_p.service.support.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Cluster-wide token bucket per provider, kept in Redis and updated atomically by scripts/token_bucket.lua.
+ * A caller that finds the bucket empty waits for the time the script says a token will be available,
+ * then asks again, until its priority's wait budget is spent.
+ */
+@Service
+public class DistributedRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedRateLimiter.class);
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisScript<Long> tokenBucketScript;
+
+    public DistributedRateLimiter(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.tokenBucketScript = RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), Long.class);
+    }
+
+    /**
+     * Takes one token from the provider's bucket, waiting up to the priority's wait budget for it.
+     * Redis failures let the call through: the provider's own limit is a better outcome than no calls at all.
+     *
+     * @param providerName The provider whose bucket to take from.
+     * @param properties The provider's rate-limit settings.
+     * @param priority Who the call is made for.
+     * @return A Mono of true once a token was taken, or false if the wait budget ran out first.
+     */
+    public Mono<Boolean> acquire(String providerName, RateLimitProperties properties, RequestPriority priority) {
+        if (!properties.isEnabled()) {
+            return Mono.just(true);
+        }
+        long maxWaitMs = priority == RequestPriority.INTERACTIVE
+                ? properties.getInteractiveMaxWaitMs()
+                : properties.getBackgroundMaxWaitMs();
+        int reserve = priority == RequestPriority.INTERACTIVE ? 0 : properties.getInteractiveReserve();
+        return Mono.defer(() -> acquire(providerName, properties, reserve, System.currentTimeMillis() + maxWaitMs));
+    }
+
+    private Mono<Boolean> acquire(String providerName, RateLimitProperties properties, int reserve, long deadline) {
+        return Mono.fromCallable(() -> tryAcquire(providerName, properties, reserve))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(waitMs -> {
+                    if (waitMs == 0) {
+                        return Mono.just(true);
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (waitMs > remaining) {
+                        return Mono.just(false);
+                    }
+                    return Mono.delay(Duration.ofMillis(waitMs))
+                            .then(Mono.defer(() -> acquire(providerName, properties, reserve, deadline)));
+                });
+    }
+
+    // Returns 0 when a token was taken, otherwise the milliseconds until one is expected
+    private long tryAcquire(String providerName, RateLimitProperties properties, int reserve) {
+        try {
+            Long waitMs = stringRedisTemplate.execute(tokenBucketScript, List.of(KEY_PREFIX + providerName),
+                    String.valueOf(properties.getPermitsPerSecond()),
+                    String.valueOf(properties.getBurstCapacity()),
+                    String.valueOf(reserve));
+            return waitMs == null ? 0 : waitMs;
+        } catch (Exception e) {
+            log.error("Error acquiring rate-limit token for provider {}; letting the call through: {}",
+                    providerName, e.getMessage(), e);
+            return 0;
+        }
+    }
+}
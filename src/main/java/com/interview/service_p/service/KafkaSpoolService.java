@@ -0,0 +1,167 @@
+// src/main/java/com/interview/service_p/service/KafkaSpoolService.java
+package com.interview.service_p.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.config.KafkaSpoolProperties;
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import com.interview.service_p.service.support.KafkaSendMetrics;
+import com.interview.service_p.service.support.SegmentedSpool;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last line of defence for analysis messages: payloads that failed both the main and the DLT send
+ * are appended to a local segmented spool, and a background drainer replays them to their topic
+ * at a controlled rate once the broker accepts sends again.
+ */
+@Service
+public class KafkaSpoolService {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaSpoolService.class);
+
+    // What is stored per spooled record
+    record SpooledMessage(String topic, String key, TickerDetailPayload payload) { }
+
+    private final KafkaSpoolProperties spoolProperties;
+    private final KafkaTemplate<String, TickerDetailPayload> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final SegmentedSpool spool;
+    private final KafkaSendMetrics kafkaSendMetrics;
+
+    public KafkaSpoolService(KafkaSpoolProperties spoolProperties,
+                             KafkaTemplate<String, TickerDetailPayload> kafkaTemplate,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry) throws IOException {
+        this.spoolProperties = spoolProperties;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.kafkaSendMetrics = new KafkaSendMetrics(meterRegistry);
+        this.spool = spoolProperties.isEnabled()
+                ? new SegmentedSpool(Path.of(spoolProperties.getDirectory()),
+                        spoolProperties.getSegmentSizeBytes(), spoolProperties.getMaxSegments())
+                : null;
+
+        if (spool != null) {
+            Gauge.builder("kafka.spool.depth", spool, SegmentedSpool::depth)
+                    .description("Messages waiting in the local spool to be replayed to Kafka")
+                    .register(meterRegistry);
+            Gauge.builder("kafka.spool.bytes", spool, SegmentedSpool::bytesPending)
+                    .description("Approximate bytes waiting in the local spool")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Appends a message to the spool. Cheap enough to call from a producer callback: it copies the
+     * payload into a memory-mapped segment and never waits on the broker.
+     * @return True if the message was spooled; false if spooling is disabled, the spool is full or the write failed.
+     */
+    public boolean spool(String topic, String key, TickerDetailPayload payload) {
+        if (spool == null) {
+            return false;
+        }
+        try {
+            if (spool.append(objectMapper.writeValueAsBytes(new SpooledMessage(topic, key, payload)))) {
+                log.warn("Spooled message ID: {} for topic '{}' locally; it will be replayed once Kafka is reachable.", key, topic);
+                return true;
+            }
+            log.error("Kafka spool is full ({} segments); cannot spool message ID: {}.", spoolProperties.getMaxSegments(), key);
+        } catch (Exception e) {
+            log.error("Error spooling message ID: {} for topic '{}': {}", key, topic, e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Replays up to drain-rate-per-second x drain-interval spooled messages, in order.
+     * The whole batch is handed to the producer before waiting, then progress is committed once, up to the
+     * first message that was not acknowledged: the broker is most likely still unavailable, and that message
+     * and everything after it are replayed on the next run. Messages are replayed twice only if the process
+     * dies between ack and commit, or if a later message in a partly acknowledged batch got through.
+     */
+    @Scheduled(fixedDelayString = "${app.kafka.spool.drain-interval-ms:5000}",
+            initialDelayString = "${app.kafka.spool.drain-interval-ms:5000}")
+    public void drain() {
+        if (spool == null) {
+            return;
+        }
+        spool.force(); // Flushes recent appends to disk at least once per interval
+        if (spool.depth() == 0) {
+            return;
+        }
+
+        int maxRecords = (int) Math.max(1, spoolProperties.getDrainRatePerSecond() * spoolProperties.getDrainIntervalMs() / 1000);
+        int replayed = 0;
+        try {
+            List<SegmentedSpool.Entry> entries = spool.read(maxRecords);
+            // A null future marks an unreadable record, which is dropped
+            List<CompletableFuture<?>> sends = new ArrayList<>(entries.size());
+            for (SegmentedSpool.Entry entry : entries) {
+                SpooledMessage message;
+                try {
+                    message = objectMapper.readValue(entry.payload(), SpooledMessage.class);
+                } catch (IOException e) {
+                    log.error("Dropping unreadable spooled record: {}", e.getMessage());
+                    sends.add(null);
+                    continue;
+                }
+                CompletableFuture<?> send;
+                try {
+                    send = kafkaSendMetrics.record(message.topic(),
+                            () -> kafkaTemplate.send(message.topic(), message.key(), message.payload()));
+                } catch (Exception e) {
+                    send = CompletableFuture.failedFuture(e);
+                }
+                sends.add(send);
+            }
+
+            long deadline = System.currentTimeMillis() + spoolProperties.getSendTimeoutMs();
+            int consumed = 0;
+            for (CompletableFuture<?> send : sends) {
+                if (send != null) {
+                    try {
+                        send.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                        replayed++;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt(); // Preserve interrupt status
+                        break;
+                    } catch (Exception e) {
+                        log.warn("Kafka still unavailable; {} spooled messages left to replay. Error: {}",
+                                spool.depth() - consumed, e.getMessage());
+                        break;
+                    }
+                }
+                consumed++;
+            }
+            if (consumed > 0) {
+                spool.commit(entries.get(consumed - 1).next(), consumed); // One checkpoint write per batch
+            }
+        } catch (IOException e) {
+            log.error("Error reading the Kafka spool: {}", e.getMessage(), e);
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} spooled messages to Kafka; {} left.", replayed, spool.depth());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (spool != null) {
+            spool.force();
+        }
+    }
+}
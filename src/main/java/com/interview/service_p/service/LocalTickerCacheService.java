@@ -0,0 +1,122 @@
+// src/main/java/com/interview/service_p/service/LocalTickerCacheService.java
+package com.interview.service_p.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.service_p.config.NearCacheProperties;
+import com.interview.service_p.model.TickerStatistic;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * In-heap L1 tier that sits in front of Redis.
+ * Entries are bounded by size and TTL; writes on any node are broadcast over Redis pub/sub
+ * so that every other node drops its local copy of the written symbols.
+ */
+@Service
+public class LocalTickerCacheService implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalTickerCacheService.class);
+
+    // Invalidation message format: "<originNodeId>|SYM1,SYM2,..."
+    private static final char NODE_SEPARATOR = '|';
+    private static final String SYMBOL_SEPARATOR = ",";
+
+    private final NearCacheProperties nearCacheProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, TickerStatistic> cache;
+    // Lets a node ignore the invalidations it published itself
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public LocalTickerCacheService(NearCacheProperties nearCacheProperties,
+                                   StringRedisTemplate stringRedisTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.nearCacheProperties = nearCacheProperties;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(nearCacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(nearCacheProperties.getTtlSeconds()))
+                .recordStats()
+                .build();
+        // Exposes hit/miss/eviction statistics as cache.* meters tagged cache=ticker-near-cache
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ticker-near-cache");
+        log.info("Initialized near-cache (node {}) with maximum size {} and TTL of {} seconds.",
+                nodeId, nearCacheProperties.getMaximumSize(), nearCacheProperties.getTtlSeconds());
+    }
+
+    /**
+     * Retrieves a TickerStatistic from the in-process cache.
+     * @param symbol The ticker symbol.
+     * @return An Optional containing the TickerStatistic if present locally, empty otherwise.
+     */
+    public Optional<TickerStatistic> get(String symbol) {
+        if (!nearCacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(symbol));
+    }
+
+    /**
+     * Stores a TickerStatistic in the in-process cache only. Does not notify other nodes.
+     * @param symbol The ticker symbol.
+     * @param statistic The TickerStatistic to store.
+     */
+    public void put(String symbol, TickerStatistic statistic) {
+        if (!nearCacheProperties.isEnabled() || statistic == null) {
+            return;
+        }
+        cache.put(symbol, statistic);
+    }
+
+    /**
+     * Tells every other node to drop its local copy of the given symbols.
+     * Called after the new values have been written to Redis, so a node that misses locally
+     * afterwards reads the fresh value from Redis.
+     * @param symbols The symbols that were written.
+     */
+    public void publishInvalidation(Collection<String> symbols) {
+        if (!nearCacheProperties.isEnabled() || symbols == null || symbols.isEmpty()) {
+            return;
+        }
+        String message = nodeId + NODE_SEPARATOR + String.join(SYMBOL_SEPARATOR, symbols);
+        try {
+            stringRedisTemplate.convertAndSend(nearCacheProperties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            // Other nodes will converge once their local entries expire
+            log.error("Error publishing near-cache invalidation for symbols {}: {}", symbols, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Handles invalidations published by other nodes.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separatorIndex = body.indexOf(NODE_SEPARATOR);
+        if (separatorIndex < 0) {
+            log.warn("Ignoring malformed near-cache invalidation message: {}", body);
+            return;
+        }
+        if (nodeId.equals(body.substring(0, separatorIndex))) {
+            return; // Our own write; the local entry is already up to date
+        }
+        String[] symbols = body.substring(separatorIndex + 1).split(SYMBOL_SEPARATOR);
+        for (String symbol : symbols) {
+            cache.invalidate(symbol);
+        }
+        log.debug("Invalidated {} near-cache entries on request of another node.", symbols.length);
+    }
+}
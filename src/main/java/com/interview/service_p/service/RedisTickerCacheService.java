@@ -2,12 +2,23 @@
 package com.interview.service_p.service;
 
 import com.interview.service_p.model.TickerStatistic; // Updated import
+import com.interview.service_p.service.support.TierMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,27 +26,42 @@ public class RedisTickerCacheService { // Renamed class
 
     private static final Logger log = LoggerFactory.getLogger(RedisTickerCacheService.class); // Updated logger name
     private final RedisTemplate<String, TickerStatistic> redisTemplate; // Updated generic type
+    private final LocalTickerCacheService localCacheService; // In-process L1 tier in front of Redis
+    private final TierMetrics tierMetrics; // Redis round-trip latency; near-cache hits are never timed
 
-    public RedisTickerCacheService(RedisTemplate<String, TickerStatistic> redisTemplate) { // Updated generic type
+    public RedisTickerCacheService(RedisTemplate<String, TickerStatistic> redisTemplate, // Updated generic type
+                                   LocalTickerCacheService localCacheService,
+                                   MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        this.localCacheService = localCacheService;
+        this.tierMetrics = new TierMetrics("redis", meterRegistry);
     }
 
     /**
-     * Retrieves a TickerStatistic from Redis cache.
+     * Retrieves a TickerStatistic from the near-cache, falling back to Redis on a local miss.
      * @param symbol The ticker symbol.
      * @return An Optional containing the TickerStatistic if found, empty otherwise.
      */
     public Optional<TickerStatistic> get(String symbol) { // Updated method name and return type
+        Optional<TickerStatistic> local = localCacheService.get(symbol);
+        if (local.isPresent()) {
+            log.debug("Near-cache hit for symbol: {}", symbol);
+            return local;
+        }
+        Timer.Sample sample = tierMetrics.start();
         try {
             TickerStatistic statistic = redisTemplate.opsForValue().get(symbol); // Updated type
+            tierMetrics.stop(sample, "get", true);
             if (statistic != null) {
                 log.debug("Cache hit for symbol: {}", symbol);
+                localCacheService.put(symbol, statistic);
                 return Optional.of(statistic);
             } else {
                 log.debug("Cache miss for symbol: {}", symbol);
                 return Optional.empty();
             }
         } catch (Exception e) {
+            tierMetrics.stop(sample, "get", false);
             log.error("Error retrieving from Redis for symbol {}: {}", symbol, e.getMessage(), e);
             return Optional.empty();
         }
@@ -43,6 +69,7 @@ public class RedisTickerCacheService { // Renamed class
 
     /**
      * Stores a TickerStatistic in Redis cache with a specified TTL.
+     * The near-cache is updated as well, and other nodes are told to drop their local copy.
      * @param symbol The ticker symbol.
      * @param statistic The TickerStatistic object to store.
      * @param ttlSeconds The time-to-live for the cache entry in seconds.
@@ -52,11 +79,94 @@ public class RedisTickerCacheService { // Renamed class
             log.warn("Attempted to cache null statistic for symbol: {}", symbol);
             return;
         }
+        Timer.Sample sample = tierMetrics.start();
         try {
             redisTemplate.opsForValue().set(symbol, statistic, Duration.ofSeconds(ttlSeconds));
+            tierMetrics.stop(sample, "set", true);
+            localCacheService.put(symbol, statistic);
+            localCacheService.publishInvalidation(List.of(symbol));
             log.info("Cached symbol {} with TTL of {} seconds.", symbol, ttlSeconds);
         } catch (Exception e) {
+            tierMetrics.stop(sample, "set", false);
             log.error("Error putting to Redis for symbol {}: {}", symbol, e.getMessage(), e);
         }
     }
+
+    /**
+     * Retrieves many TickerStatistics at once: near-cache first, then a single MGET for the rest.
+     * @param symbols The ticker symbols. Duplicates are looked up once.
+     * @return A map from symbol to TickerStatistic containing only the symbols that were found.
+     */
+    public Map<String, TickerStatistic> getAll(Collection<String> symbols) {
+        Map<String, TickerStatistic> found = new LinkedHashMap<>();
+        if (symbols == null || symbols.isEmpty()) {
+            return found;
+        }
+        List<String> remoteSymbols = new ArrayList<>();
+        for (String symbol : new LinkedHashSet<>(symbols)) {
+            Optional<TickerStatistic> local = localCacheService.get(symbol);
+            if (local.isPresent()) {
+                found.put(symbol, local.get());
+            } else {
+                remoteSymbols.add(symbol);
+            }
+        }
+        if (remoteSymbols.isEmpty()) {
+            log.debug("Near-cache hit for all {} symbols.", found.size());
+            return found;
+        }
+        Timer.Sample sample = tierMetrics.start();
+        try {
+            // MGET returns values positionally, with null for missing keys
+            List<TickerStatistic> values = redisTemplate.opsForValue().multiGet(remoteSymbols);
+            tierMetrics.stop(sample, "mget", true);
+            if (values != null) {
+                for (int i = 0; i < remoteSymbols.size(); i++) {
+                    TickerStatistic statistic = values.get(i);
+                    if (statistic != null) {
+                        found.put(remoteSymbols.get(i), statistic);
+                        localCacheService.put(remoteSymbols.get(i), statistic);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            tierMetrics.stop(sample, "mget", false);
+            log.error("Error retrieving from Redis for symbols {}: {}", remoteSymbols, e.getMessage(), e);
+        }
+        log.debug("Cache hit for {} of {} symbols.", found.size(), symbols.size());
+        return found;
+    }
+
+    /**
+     * Stores many TickerStatistics in one pipelined round trip, each with the given TTL.
+     * Other nodes receive a single invalidation message for all written symbols.
+     * @param statistics A map from symbol to the TickerStatistic to store.
+     * @param ttlSeconds The time-to-live for every cache entry in seconds.
+     */
+    public void putAll(Map<String, TickerStatistic> statistics, long ttlSeconds) {
+        if (statistics == null || statistics.isEmpty()) {
+            return;
+        }
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        Timer.Sample sample = tierMetrics.start();
+        try {
+            // MSET has no per-key TTL, so pipeline one SET ... EX per symbol instead
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, TickerStatistic> ops = (RedisOperations<String, TickerStatistic>) operations;
+                    statistics.forEach((symbol, statistic) -> ops.opsForValue().set(symbol, statistic, ttl));
+                    return null;
+                }
+            });
+            tierMetrics.stop(sample, "pipelined_set", true);
+            statistics.forEach(localCacheService::put);
+            localCacheService.publishInvalidation(statistics.keySet());
+            log.info("Cached {} symbols with TTL of {} seconds.", statistics.size(), ttlSeconds);
+        } catch (Exception e) {
+            tierMetrics.stop(sample, "pipelined_set", false);
+            log.error("Error putting to Redis for symbols {}: {}", statistics.keySet(), e.getMessage(), e);
+        }
+    }
 }
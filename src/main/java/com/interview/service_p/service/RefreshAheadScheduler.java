@@ -0,0 +1,170 @@
+// src/main/java/com/interview/service_p/service/RefreshAheadScheduler.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.RefreshAheadProperties;
+import com.interview.service_p.config.RestConfigProperties;
+import com.interview.service_p.config.RestConfigProperties.ApiProviderProperties;
+import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.service.support.RequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proactively refreshes the most requested tickers before their cached value expires,
+ * spending at most the configured daily FMP call budget, spread evenly across the day.
+ * Only calls that actually reached FMP are charged to the budget. Refresh-ahead fetches with REFRESH_AHEAD
+ * priority, which nothing else uses, so the growth of RestImpl's REFRESH_AHEAD call count during a refresh is
+ * its cost; stale-while-revalidate and early refreshes run concurrently at BACKGROUND priority and are not charged.
+ */
+@Service
+public class RefreshAheadScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadScheduler.class);
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    // Unspent budget carries over, but never more than this many ticks' worth, to avoid bursts
+    private static final int MAX_CARRY_OVER_TICKS = 10;
+
+    private final RefreshAheadProperties refreshAheadProperties;
+    private final SymbolPopularityTracker symbolPopularityTracker;
+    private final RedisTickerCacheService redisCacheService;
+    private final TickerService tickerService;
+    private final RestImpl restImpl;
+    private final ApiProviderProperties fmpProperties;
+
+    // Only refreshHottestTickers writes these, and a fixed-delay job never overlaps itself; status() reads them from request threads
+    private double budgetTokens = 0;
+    private volatile LocalDate budgetDay = LocalDate.now();
+    private volatile long callsToday = 0;
+    private volatile long tickersRefreshedToday = 0;
+
+    public RefreshAheadScheduler(RefreshAheadProperties refreshAheadProperties,
+                                 SymbolPopularityTracker symbolPopularityTracker,
+                                 RedisTickerCacheService redisCacheService,
+                                 TickerService tickerService,
+                                 RestImpl restImpl,
+                                 RestConfigProperties restConfigProperties) {
+        this.refreshAheadProperties = refreshAheadProperties;
+        this.symbolPopularityTracker = symbolPopularityTracker;
+        this.redisCacheService = redisCacheService;
+        this.tickerService = tickerService;
+        this.restImpl = restImpl;
+        this.fmpProperties = restConfigProperties.getProviders().get("fmp");
+        if (this.fmpProperties == null) {
+            throw new IllegalStateException("FMP API properties (rest.api.providers.fmp) not configured!");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ticker.refresh-ahead.interval-ms:60000}",
+            initialDelayString = "${app.ticker.refresh-ahead.interval-ms:60000}")
+    public void refreshHottestTickers() {
+        if (!refreshAheadProperties.isEnabled()) {
+            return;
+        }
+        rollOverBudgetDay();
+
+        double tokensPerTick = (double) refreshAheadProperties.getDailyCallBudget()
+                * refreshAheadProperties.getIntervalMs() / MILLIS_PER_DAY;
+        long remainingToday = refreshAheadProperties.getDailyCallBudget() - callsToday;
+        budgetTokens = Math.min(budgetTokens + tokensPerTick, Math.min(tokensPerTick * MAX_CARRY_OVER_TICKS, remainingToday));
+        int callsAllowed = (int) budgetTokens;
+        if (callsAllowed <= 0) {
+            return;
+        }
+
+        List<String> due = findTickersDueForRefresh(callsAllowed * fmpProperties.getBatchSize());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int batchSize = fmpProperties.getBatchSize();
+        log.info("Refreshing {} hot tickers ahead of expiry using up to {} of {} allowed upstream calls.",
+                due.size(), (due.size() + batchSize - 1) / batchSize, callsAllowed);
+        long issuedBefore = restImpl.issuedCalls("fmp", RequestPriority.REFRESH_AHEAD);
+        int refreshed = 0;
+        try {
+            refreshed = tickerService.refreshTickers(due, RequestPriority.REFRESH_AHEAD);
+        } finally {
+            // Calls the rate limiter or the breaker rejected never reached FMP, so they cost nothing
+            long callsUsed = restImpl.issuedCalls("fmp", RequestPriority.REFRESH_AHEAD) - issuedBefore;
+            budgetTokens -= callsUsed;
+            callsToday += callsUsed;
+            tickersRefreshedToday += refreshed;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{${app.ticker.refresh-ahead.decay-interval-minutes:60} * 60000}",
+            initialDelayString = "#{${app.ticker.refresh-ahead.decay-interval-minutes:60} * 60000}")
+    public void decayPopularity() {
+        symbolPopularityTracker.decay();
+    }
+
+    /**
+     * @return The current top-K and budget burn figures, for the refreshahead actuator endpoint.
+     */
+    public Map<String, Object> status() {
+        LocalDateTime now = LocalDateTime.now();
+        double elapsedFractionOfDay = Math.max(
+                (double) Duration.between(now.toLocalDate().atStartOfDay(), now).toMillis() / MILLIS_PER_DAY, 1e-6);
+
+        Map<String, Object> budget = new LinkedHashMap<>();
+        budget.put("dailyCallBudget", refreshAheadProperties.getDailyCallBudget());
+        budget.put("callsToday", callsToday);
+        budget.put("tickersRefreshedToday", tickersRefreshedToday);
+        // Calls per hour so far today, and the share of the budget that pace would use over a full day
+        budget.put("callsPerHour", callsToday / (elapsedFractionOfDay * 24));
+        budget.put("projectedDailyBurnRatio", refreshAheadProperties.getDailyCallBudget() == 0 ? 0.0
+                : callsToday / elapsedFractionOfDay / refreshAheadProperties.getDailyCallBudget());
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", refreshAheadProperties.isEnabled());
+        status.put("budget", budget);
+        status.put("topK", symbolPopularityTracker.topK());
+        return status;
+    }
+
+    // Hottest tickers first: those not cached, or whose cached value expires within the refresh window
+    private List<String> findTickersDueForRefresh(int limit) {
+        List<String> hottest = new ArrayList<>(symbolPopularityTracker.topK().keySet());
+        if (hottest.isEmpty()) {
+            return hottest;
+        }
+        Map<String, TickerStatistic> cached = redisCacheService.getAll(hottest);
+        long now = System.currentTimeMillis();
+        long ttlMillis = TimeUnit.MINUTES.toMillis(fmpProperties.getDbStalenessThresholdMinutes());
+        long windowMillis = TimeUnit.MINUTES.toMillis(refreshAheadProperties.getRefreshWindowMinutes());
+
+        List<String> due = new ArrayList<>();
+        for (String ticker : hottest) {
+            TickerStatistic statistic = cached.get(ticker);
+            if (statistic == null || statistic.getFetchedAt() <= 0
+                    || statistic.getFetchedAt() + ttlMillis - now <= windowMillis) {
+                due.add(ticker);
+                if (due.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return due;
+    }
+
+    private void rollOverBudgetDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(budgetDay)) {
+            log.info("Refresh-ahead used {} upstream calls for {} tickers on {}.", callsToday, tickersRefreshedToday, budgetDay);
+            budgetDay = today;
+            callsToday = 0;
+            tickersRefreshedToday = 0;
+        }
+    }
+}
@@ -3,7 +3,17 @@ package com.interview.service_p.service;
 
 import com.interview.service_p.config.RestConfigProperties;
 import com.interview.service_p.config.RestConfigProperties.ApiProviderProperties;
+import com.interview.service_p.config.RestConfigProperties.ConnectionPoolProperties;
+import com.interview.service_p.service.support.AimdConcurrencyLimiter;
+import com.interview.service_p.service.support.CircuitBreaker;
+import com.interview.service_p.service.support.RequestPriority;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -11,33 +21,56 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class RestImpl {
 
     private static final Logger log = LoggerFactory.getLogger(RestImpl.class);
     private final Map<String, WebClient> webClients;
+    private final Map<String, ConnectionProvider> connectionProviders; // One pool per provider, disposed on shutdown
     private final RestConfigProperties restConfigProperties;
+    // Per-provider guards: the breaker stops calls to a failing provider, the limiter caps calls in flight
+    private final Map<String, CircuitBreaker> circuitBreakers;
+    private final Map<String, AimdConcurrencyLimiter> concurrencyLimiters;
+    // Attempts that actually went out to each provider, by priority; read by callers that budget their calls
+    private final Map<String, Map<RequestPriority, LongAdder>> issuedCalls;
+    private final DistributedRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
 
     public RestImpl(WebClient.Builder webClientBuilder,
-                    RestConfigProperties restConfigProperties) {
+                    RestConfigProperties restConfigProperties,
+                    DistributedRateLimiter rateLimiter,
+                    MeterRegistry meterRegistry) {
         this.restConfigProperties = restConfigProperties;
+        this.rateLimiter = rateLimiter;
         this.webClients = new java.util.HashMap<>();
+        this.connectionProviders = new java.util.HashMap<>();
+        this.circuitBreakers = new java.util.HashMap<>();
+        this.concurrencyLimiters = new java.util.HashMap<>();
+        this.issuedCalls = new java.util.HashMap<>();
+        this.meterRegistry = meterRegistry;
 
         restConfigProperties.getProviders().forEach((providerName, props) -> {
             WebClient client = webClientBuilder
                     .baseUrl(props.getBaseUrl())
                     .clientConnector(new org.springframework.http.client.reactive.ReactorClientHttpConnector(
-                            HttpClient.create().responseTimeout(Duration.ofMillis(props.getTimeoutMs()))
+                            httpClient(providerName, props)
                     ))
                     .defaultStatusHandler(HttpStatusCode::isError, response ->
                             response.createException().flatMap(ex -> {
@@ -48,23 +81,46 @@ public class RestImpl {
                     .build();
 
             webClients.put(providerName, client);
+            registerGuards(providerName, props);
             log.info("Initialized WebClient for provider: {} with base URL: {}", providerName, props.getBaseUrl());
         });
     }
 
     public <T> Optional<T> executeGet(String providerName, Map<String, String> resourcePathVariables, Map<String, String> queryParams, Class<T> responseType) {
+        return executeGet(providerName, resourcePathVariables, queryParams, responseType, RequestPriority.INTERACTIVE);
+    }
+
+    /**
+     * Variant of executeGet for callers that are not serving a user request, so that
+     * rate-limit tokens go to user-facing calls first.
+     */
+    public <T> Optional<T> executeGet(String providerName, Map<String, String> resourcePathVariables, Map<String, String> queryParams, Class<T> responseType, RequestPriority priority) {
+        try {
+            return executeGetReactive(providerName, resourcePathVariables, queryParams, responseType, priority).blockOptional();
+        } catch (Exception e) {
+            log.error("Generic error during API call for provider {}: {}", providerName, e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Non-blocking variant of executeGet. Errors are logged and turned into an empty Mono,
+     * mirroring the Optional.empty() contract of the blocking method.
+     */
+    public <T> Mono<T> executeGetReactive(String providerName, Map<String, String> resourcePathVariables, Map<String, String> queryParams, Class<T> responseType) {
+        return executeGetReactive(providerName, resourcePathVariables, queryParams, responseType, RequestPriority.INTERACTIVE);
+    }
+
+    public <T> Mono<T> executeGetReactive(String providerName, Map<String, String> resourcePathVariables, Map<String, String> queryParams, Class<T> responseType, RequestPriority priority) {
         ApiProviderProperties providerProps = restConfigProperties.getProviders().get(providerName);
         WebClient webClient = webClients.get(providerName);
 
         if (providerProps == null || webClient == null) {
             log.error("API provider '{}' not configured or WebClient not initialized.", providerName);
-            return Optional.empty();
+            return Mono.empty();
         }
 
-        String endpoint = providerProps.getResourcePath();
-        for (Map.Entry<String, String> entry : resourcePathVariables.entrySet()) {
-            endpoint = endpoint.replace("{" + entry.getKey() + "}", entry.getValue());
-        }
+        String endpoint = resolveEndpoint(providerProps, resourcePathVariables);
 
         StringBuilder fullUrlBuilder = new StringBuilder(endpoint);
         if (queryParams != null && !queryParams.isEmpty()) {
@@ -80,93 +136,306 @@ public class RestImpl {
 
         log.info("Making API call to provider '{}' at URL: {}", providerName, fullUrl);
 
-        try {
-            Mono<T> responseMono = webClient.get()
-                    .uri(fullUrl)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .bodyToMono(responseType)
-                    .retryWhen(Retry.backoff(providerProps.getMaxRetries(), Duration.ofMillis(providerProps.getRetryDelayMs()))
-                            .filter(throwable ->
-                                    (throwable instanceof WebClientResponseException &&
-                                            ((WebClientResponseException) throwable).getStatusCode().is5xxServerError())
-                                            || throwable instanceof java.net.ConnectException
-                                            || throwable instanceof java.util.concurrent.TimeoutException)
-                            .doBeforeRetry(retrySignal ->
-                                    log.warn("Retrying API call for provider {} (attempt {}): {}",
-                                            providerName, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage()))
-                            .onRetryExhaustedThrow((spec, signal) -> {
-                                log.error("API call for provider {} exhausted retries after {} attempts. Last error: {}",
-                                        providerName, providerProps.getMaxRetries(), signal.failure().getMessage());
-                                return signal.failure();
-                            })
-                    )
-                    .doOnError(e -> log.error("Error during WebClient call for provider {}: {}", providerName, e.getMessage(), e));
-            //todo: make this fully non blocking
-            T response = responseMono.block();
-            return Optional.ofNullable(response);
+        return guarded(providerName, providerProps, priority, webClient.get()
+                        .uri(fullUrl)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(responseType))
+                .retryWhen(retrySpec(providerName, providerProps, "API call"))
+                .onErrorResume(CallRejectedException.class, e -> {
+                    log.warn("API call to provider {} rejected: {}", providerName, e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnError(e -> log.error("Error during WebClient call for provider {}: {}", providerName, e.getMessage(), e))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("WebClient error response for provider {}: Status {} - {}", providerName, e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> Mono.empty());
+    }
 
-        } catch (WebClientResponseException e) {
-            log.error("WebClient error response for provider {}: Status {} - {}", providerName, e.getStatusCode(), e.getResponseBodyAsString());
-            return Optional.empty();
+    public <T, R> Optional<T> executePost(String providerName, Map<String, String> resourcePathVariables, R requestBody, Class<T> responseType) {
+        try {
+            return executePostReactive(providerName, resourcePathVariables, requestBody, responseType).blockOptional();
         } catch (Exception e) {
-            log.error("Generic error during API call for provider {}: {}", providerName, e.getMessage(), e);
+            log.error("Generic error during POST API call for provider {}: {}", providerName, e.getMessage(), e);
             return Optional.empty();
         }
     }
 
-    public <T, R> Optional<T> executePost(String providerName, Map<String, String> resourcePathVariables, R requestBody, Class<T> responseType) {
+    /**
+     * Non-blocking variant of executePost. Errors are logged and turned into an empty Mono,
+     * mirroring the Optional.empty() contract of the blocking method.
+     */
+    public <T, R> Mono<T> executePostReactive(String providerName, Map<String, String> resourcePathVariables, R requestBody, Class<T> responseType) {
         ApiProviderProperties providerProps = restConfigProperties.getProviders().get(providerName);
         WebClient webClient = webClients.get(providerName);
 
         if (providerProps == null || webClient == null) {
             log.error("API provider '{}' not configured or WebClient not initialized.", providerName);
-            return Optional.empty();
+            return Mono.empty();
+        }
+
+        String fullUrl = resolveEndpoint(providerProps, resourcePathVariables);
+
+        log.info("Making POST API call to provider '{}' at URL: {}", providerName, fullUrl);
+
+        return guarded(providerName, providerProps, RequestPriority.INTERACTIVE, webClient.post()
+                        .uri(fullUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .bodyToMono(responseType))
+                .retryWhen(retrySpec(providerName, providerProps, "POST API call"))
+                .onErrorResume(CallRejectedException.class, e -> {
+                    log.warn("POST API call to provider {} rejected: {}", providerName, e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnError(e -> log.error("Error during POST WebClient call for provider {}: {}", providerName, e.getMessage(), e))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("WebClient POST error response for provider {}: Status {} - {}", providerName, e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    @PreDestroy
+    public void disposeConnectionPools() {
+        connectionProviders.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /**
+     * Builds the provider's HTTP client on a dedicated connection pool.
+     * With metrics enabled, Reactor Netty publishes reactor.netty.connection.provider.* gauges
+     * (active, idle, pending and total connections) tagged with the pool name "rest-<provider>".
+     */
+    private HttpClient httpClient(String providerName, ApiProviderProperties props) {
+        ConnectionPoolProperties pool = props.getConnectionPool();
+        ConnectionProvider.Builder poolBuilder = ConnectionProvider.builder("rest-" + providerName)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .metrics(true);
+        if (pool.getEvictInBackgroundMs() > 0) {
+            poolBuilder.evictInBackground(Duration.ofMillis(pool.getEvictInBackgroundMs()));
+        }
+        ConnectionProvider connectionProvider = poolBuilder.build();
+        connectionProviders.put(providerName, connectionProvider);
+
+        HttpProtocol[] protocols = pool.getProtocols().stream()
+                .distinct()
+                .map(protocol -> protocol == ConnectionPoolProperties.Protocol.HTTP2 ? HttpProtocol.H2 : HttpProtocol.HTTP11)
+                .toArray(HttpProtocol[]::new);
+        log.info("Provider {} uses a pool of {} connections over {} (compression {}).",
+                providerName, pool.getMaxConnections(), pool.getProtocols(), pool.isCompression() ? "on" : "off");
+
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols)
+                .compress(pool.isCompression())
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, pool.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true) // Detects connections the peer dropped while idle
+                .responseTimeout(Duration.ofMillis(props.getTimeoutMs()));
+    }
+
+    /**
+     * @param providerName The provider to check.
+     * @return True if the provider's circuit breaker is currently rejecting calls.
+     */
+    public boolean isCircuitOpen(String providerName) {
+        CircuitBreaker breaker = circuitBreakers.get(providerName);
+        return breaker != null && breaker.getState() == CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * @param providerName The provider to check.
+     * @param priority The priority the calls were made with.
+     * @return How many attempts have been sent to the provider at this priority since startup, retries included.
+     *         Attempts rejected by the breaker, the concurrency limiter or the rate limiter are not counted.
+     */
+    public long issuedCalls(String providerName, RequestPriority priority) {
+        Map<RequestPriority, LongAdder> byPriority = issuedCalls.get(providerName);
+        return byPriority == null ? 0 : byPriority.get(priority).sum();
+    }
+
+    private void registerGuards(String providerName, ApiProviderProperties props) {
+        Map<RequestPriority, LongAdder> byPriority = new java.util.EnumMap<>(RequestPriority.class);
+        for (RequestPriority priority : RequestPriority.values()) {
+            byPriority.put(priority, new LongAdder());
         }
+        issuedCalls.put(providerName, byPriority);
+        CircuitBreaker breaker = new CircuitBreaker(props.getCircuitBreaker());
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(props.getConcurrencyLimit());
+        circuitBreakers.put(providerName, breaker);
+        concurrencyLimiters.put(providerName, limiter);
+
+        // 0 = closed, 1 = open, 2 = half-open
+        Gauge.builder("rest.client.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit breaker state per provider (0 = closed, 1 = open, 2 = half-open)")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        Gauge.builder("rest.client.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on in-flight calls per provider")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        Gauge.builder("rest.client.concurrency.inflight", limiter, AimdConcurrencyLimiter::getInFlight)
+                .description("Calls currently in flight per provider")
+                .tag("provider", providerName)
+                .register(meterRegistry);
+    }
 
+    /**
+     * Runs one attempt of a call behind the provider's circuit breaker, concurrency limiter and rate limit.
+     * The breaker is checked first, so a call it rejects fails fast without touching Redis; an admitted attempt
+     * then queues for a cluster-wide rate-limit token, for at most its priority's wait budget, and gives its breaker
+     * permit back if it does not get one. The concurrency limiter is checked only once the token is granted, so
+     * callers waiting for a token do not hold limiter slots and are not counted as in flight.
+     * A rejected attempt fails fast with CallRejectedException instead of reaching the provider.
+     * Only errors that would be retried (5xx, 429, connection failures, timeouts) count against the provider;
+     * a 4xx is the caller's problem and counts as a healthy response.
+     * Every attempt that reaches the provider is timed as rest.client.requests, tagged by provider and outcome.
+     */
+    private <T> Mono<T> guarded(String providerName, ApiProviderProperties providerProps, RequestPriority priority, Mono<T> call) {
+        CircuitBreaker breaker = circuitBreakers.get(providerName);
+        AimdConcurrencyLimiter limiter = concurrencyLimiters.get(providerName);
+        return Mono.defer(() -> {
+            long permit = breaker.tryAcquirePermission();
+            if (permit == CircuitBreaker.NO_PERMISSION) {
+                countRejection(providerName, "circuit_open");
+                return Mono.error(new CallRejectedException("circuit breaker is open"));
+            }
+            // Set while the breaker permit is held but the call has not started; whoever clears it gives it back
+            AtomicBoolean waitingForToken = new AtomicBoolean(true);
+            Runnable releaseUnused = () -> {
+                if (waitingForToken.compareAndSet(true, false)) {
+                    breaker.onIgnored(permit);
+                }
+            };
+            return rateLimiter.acquire(providerName, providerProps.getRateLimit(), priority)
+                    .doOnCancel(releaseUnused)
+                    .doOnError(e -> releaseUnused.run())
+                    .flatMap(granted -> {
+                        if (!granted) {
+                            releaseUnused.run();
+                            countRejection(providerName, "rate_limited");
+                            return Mono.error(new CallRejectedException(priority + " wait budget for a rate-limit token exhausted"));
+                        }
+                        if (!waitingForToken.compareAndSet(true, false)) {
+                            return Mono.empty(); // Cancelled while the token arrived; the permit is already back
+                        }
+                        if (!limiter.tryAcquire()) {
+                            breaker.onIgnored(permit); // The token is spent; FMP still never sees the call
+                            countRejection(providerName, "concurrency_limit");
+                            return Mono.error(new CallRejectedException("concurrency limit of " + limiter.getLimit() + " reached"));
+                        }
+                        issuedCalls.get(providerName).get(priority).increment();
+                        long startNanos = System.nanoTime();
+                        AtomicReference<Throwable> failure = new AtomicReference<>();
+                        return call
+                                .doOnError(failure::set)
+                                .doFinally(signal -> {
+                                    recordAttempt(providerName, signal == SignalType.CANCEL ? "cancelled" : outcomeOf(failure.get()),
+                                            System.nanoTime() - startNanos);
+                                    if (signal == SignalType.CANCEL) {
+                                        breaker.onIgnored(permit);
+                                        limiter.onIgnored();
+                                    } else if (failure.get() != null && isRetryable(failure.get())) {
+                                        breaker.onFailure(permit);
+                                        limiter.onFailure();
+                                    } else {
+                                        breaker.onSuccess(permit);
+                                        limiter.onSuccess(Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+                                    }
+                                });
+                    });
+        });
+    }
+
+    private void countRejection(String providerName, String reason) {
+        Counter.builder("rest.client.rejected")
+                .description("Calls rejected before reaching the provider, by reason")
+                .tag("provider", providerName)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void recordAttempt(String providerName, String outcome, long durationNanos) {
+        Timer.builder("rest.client.requests")
+                .description("Latency of individual attempts against a provider, by outcome")
+                .tag("provider", providerName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(durationNanos));
+    }
+
+    // A small fixed set of values, so the outcome tag stays low-cardinality
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof WebClientResponseException responseException) {
+            HttpStatusCode status = responseException.getStatusCode();
+            if (status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                return "throttled";
+            }
+            return status.is5xxServerError() ? "server_error" : "client_error";
+        }
+        if (failure instanceof java.util.concurrent.TimeoutException
+                || failure.getCause() instanceof io.netty.handler.timeout.ReadTimeoutException) {
+            return "timeout";
+        }
+        if (failure instanceof WebClientRequestException || failure instanceof java.net.ConnectException) {
+            return "connect_error";
+        }
+        return "error";
+    }
+
+    private String resolveEndpoint(ApiProviderProperties providerProps, Map<String, String> resourcePathVariables) {
         String endpoint = providerProps.getResourcePath();
         for (Map.Entry<String, String> entry : resourcePathVariables.entrySet()) {
             endpoint = endpoint.replace("{" + entry.getKey() + "}", entry.getValue());
         }
+        return endpoint;
+    }
 
-        String fullUrl = endpoint;
-
-        log.info("Making POST API call to provider '{}' at URL: {}", providerName, fullUrl);
-
-        try {
-            Mono<T> responseMono = webClient.post()
-                    .uri(fullUrl)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(responseType)
-                    .retryWhen(Retry.backoff(providerProps.getMaxRetries(), Duration.ofMillis(providerProps.getRetryDelayMs()))
-                            .filter(throwable ->
-                                    (throwable instanceof WebClientResponseException &&
-                                            ((WebClientResponseException) throwable).getStatusCode().is5xxServerError())
-                                            || throwable instanceof java.net.ConnectException
-                                            || throwable instanceof java.util.concurrent.TimeoutException)
-                            .doBeforeRetry(retrySignal ->
-                                    log.warn("Retrying POST API call for provider {} (attempt {}): {}",
-                                            providerName, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage()))
-                            .onRetryExhaustedThrow((spec, signal) -> {
-                                log.error("POST API call for provider {} exhausted retries after {} attempts. Last error: {}",
-                                        providerName, providerProps.getMaxRetries(), signal.failure().getMessage());
-                                return signal.failure();
-                            })
-                    )
-                    .doOnError(e -> log.error("Error during POST WebClient call for provider {}: {}", providerName, e.getMessage(), e));
+    // Retries 5xx and 429 responses, connection failures and timeouts with exponential backoff
+    private RetryBackoffSpec retrySpec(String providerName, ApiProviderProperties providerProps, String callDescription) {
+        return Retry.backoff(providerProps.getMaxRetries(), Duration.ofMillis(providerProps.getRetryDelayMs()))
+                .filter(RestImpl::isRetryable)
+                .doBeforeRetry(retrySignal -> {
+                    Counter.builder("rest.client.retries")
+                            .description("Attempts retried after a retryable error, per provider")
+                            .tag("provider", providerName)
+                            .register(meterRegistry)
+                            .increment();
+                    log.warn("Retrying {} for provider {} (attempt {}): {}",
+                            callDescription, providerName, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> {
+                    log.error("{} for provider {} exhausted retries after {} attempts. Last error: {}",
+                            callDescription, providerName, providerProps.getMaxRetries(), signal.failure().getMessage());
+                    return signal.failure();
+                });
+    }
 
-            T response = responseMono.block();
-            return Optional.ofNullable(response);
+    private static boolean isRetryable(Throwable throwable) {
+        return (throwable instanceof WebClientResponseException responseException &&
+                (responseException.getStatusCode().is5xxServerError()
+                        || responseException.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)))
+                || throwable instanceof WebClientRequestException // Connection-level failures surface wrapped in this
+                || throwable instanceof java.net.ConnectException
+                || throwable instanceof java.util.concurrent.TimeoutException;
+    }
 
-        } catch (WebClientResponseException e) {
-            log.error("WebClient POST error response for provider {}: Status {} - {}", providerName, e.getStatusCode(), e.getResponseBodyAsString());
-            return Optional.empty();
-        } catch (Exception e) {
-            log.error("Generic error during POST API call for provider {}: {}", providerName, e.getMessage(), e);
-            return Optional.empty();
+    // Signals that a call was refused locally by the circuit breaker or concurrency limiter
+    private static class CallRejectedException extends RuntimeException {
+        CallRejectedException(String message) {
+            super(message);
         }
     }
 }
@@ -0,0 +1,97 @@
+// src/main/java/com/interview/service_p/service/SymbolPopularityTracker.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.RefreshAheadProperties;
+import com.interview.service_p.service.support.CountMinSketch;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks how often each ticker is requested, in constant memory, and keeps the current top-K.
+ * Frequencies come from a count-min sketch; the top-K map holds only the K highest estimates seen.
+ * <p>
+ * Recording is lock-free: a request only bumps the sketch and notes symbols that are not in the top-K yet.
+ * The top-K itself is rebuilt off the request path, whenever it is read (by the refresh-ahead scheduler
+ * and the actuator endpoint), from the previous top-K plus the noted candidates.
+ */
+@Service
+public class SymbolPopularityTracker {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    // Symbols seen since the last rebuild that were not in the top-K; bounded so a flood of one-off symbols cannot grow it
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private final int maxCandidates;
+    // Hottest first; never modified once published
+    private volatile Map<String, Long> topK = Collections.emptyMap();
+
+    public SymbolPopularityTracker(RefreshAheadProperties refreshAheadProperties) {
+        this.sketch = new CountMinSketch(refreshAheadProperties.getSketchWidth(), refreshAheadProperties.getSketchDepth());
+        this.capacity = refreshAheadProperties.getTopK();
+        this.maxCandidates = Math.max(capacity * 100, 10000);
+    }
+
+    /**
+     * Counts one request for each ticker (duplicates count more than once). Never blocks.
+     * @param tickers The requested ticker symbols.
+     */
+    public void record(Collection<String> tickers) {
+        Map<String, Long> current = topK;
+        for (String ticker : tickers) {
+            if (ticker == null) {
+                continue;
+            }
+            sketch.add(ticker);
+            if (!current.containsKey(ticker) && candidates.size() < maxCandidates) {
+                candidates.add(ticker);
+            }
+        }
+    }
+
+    /**
+     * @return The current top-K tickers with their estimated request counts, hottest first.
+     */
+    public synchronized LinkedHashMap<String, Long> topK() {
+        rebuild();
+        return new LinkedHashMap<>(topK);
+    }
+
+    /**
+     * Halves all counts so that popularity follows recent traffic.
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        rebuild();
+    }
+
+    // Re-estimates the previous top-K and the new candidates, and publishes the K highest
+    private void rebuild() {
+        Set<String> pool = new HashSet<>(topK.keySet());
+        for (String candidate : candidates) {
+            candidates.remove(candidate);
+            pool.add(candidate);
+        }
+        List<Map.Entry<String, Long>> estimates = new ArrayList<>(pool.size());
+        for (String ticker : pool) {
+            long estimate = sketch.estimate(ticker);
+            if (estimate > 0) {
+                estimates.add(Map.entry(ticker, estimate));
+            }
+        }
+        estimates.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        LinkedHashMap<String, Long> rebuilt = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : estimates.subList(0, Math.min(capacity, estimates.size()))) {
+            rebuilt.put(entry.getKey(), entry.getValue());
+        }
+        topK = Collections.unmodifiableMap(rebuilt);
+    }
+}
@@ -0,0 +1,195 @@
+// src/main/java/com/interview/service_p/service/TickerAnalysisBulkService.java
+package com.interview.service_p.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.config.KafkaProducerProperties;
+import com.interview.service_p.model.kafka.BulkAnalysisSummary;
+import com.interview.service_p.model.kafka.BulkAnalysisSummary.RecordResult;
+import com.interview.service_p.model.kafka.TickerDetail;
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import com.interview.service_p.service.support.KafkaSendMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produces a streamed NDJSON upload of TickerDetail records to the analysis topic.
+ * Records go through a dedicated producer tuned for throughput (large, compressed batches), and at most
+ * max-in-flight sends await an ack at any time. While that bound is reached the upload is not read,
+ * so a fast client is slowed down by TCP flow control instead of filling the heap.
+ * In OUTBOX delivery mode records are instead stored in the analysis outbox in multi-row batches,
+ * and count as produced once their batch commits.
+ * Bulk uploads are not deduplicated: a per-record Redis claim would cap upload throughput, and
+ * resubmitting a whole file is an explicit client decision.
+ */
+@Service
+public class TickerAnalysisBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerAnalysisBulkService.class);
+
+    private final UniqueIdGenService uniqueIdGenService;
+    private final KafkaProducerProperties kafkaProducerProperties;
+    private final ObjectMapper objectMapper;
+    private final AnalysisOutboxService analysisOutboxService;
+    // Not a bean: a second KafkaTemplate bean would switch off Boot's auto-configured one
+    private final KafkaTemplate<String, TickerDetailPayload> bulkKafkaTemplate;
+    private final KafkaSendMetrics kafkaSendMetrics;
+
+    public TickerAnalysisBulkService(UniqueIdGenService uniqueIdGenService,
+                                     KafkaProducerProperties kafkaProducerProperties,
+                                     ObjectMapper objectMapper,
+                                     AnalysisOutboxService analysisOutboxService,
+                                     ProducerFactory<String, TickerDetailPayload> producerFactory,
+                                     MeterRegistry meterRegistry) {
+        this.uniqueIdGenService = uniqueIdGenService;
+        this.kafkaProducerProperties = kafkaProducerProperties;
+        this.objectMapper = objectMapper;
+        this.analysisOutboxService = analysisOutboxService;
+        this.kafkaSendMetrics = new KafkaSendMetrics(meterRegistry);
+
+        KafkaProducerProperties.Bulk bulk = kafkaProducerProperties.getBulk();
+        // Copies the auto-configured producer settings (serializers, acks, ...) and overrides batching
+        this.bulkKafkaTemplate = new KafkaTemplate<>(producerFactory, Map.of(
+                ProducerConfig.BATCH_SIZE_CONFIG, bulk.getBatchSizeBytes(),
+                ProducerConfig.LINGER_MS_CONFIG, (int) bulk.getLingerMs(),
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, bulk.getCompressionType()));
+    }
+
+    /**
+     * Reads the upload line by line and produces each record, returning once every send has been acked,
+     * has failed, or the completion timeout has passed.
+     *
+     * @param ndjson The request body: one JSON TickerDetail per line. Blank lines are skipped.
+     * @return A summary with the message ID and outcome of every record.
+     * @throws IOException If the upload cannot be read.
+     */
+    public BulkAnalysisSummary ingest(InputStream ndjson) throws IOException {
+        KafkaProducerProperties.Bulk bulk = kafkaProducerProperties.getBulk();
+        Semaphore inFlight = new Semaphore(bulk.getMaxInFlight());
+        List<RecordResult> results = new ArrayList<>();
+        long startedAt = System.currentTimeMillis();
+        boolean outbox = kafkaProducerProperties.getDeliveryMode() == KafkaProducerProperties.DeliveryMode.OUTBOX;
+        int outboxBatchSize = kafkaProducerProperties.getOutbox().getBatchSize();
+        List<RecordResult> pendingResults = new ArrayList<>();
+        List<TickerDetailPayload> pendingPayloads = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                TickerDetail tickerDetail;
+                try {
+                    tickerDetail = objectMapper.readValue(line, TickerDetail.class);
+                } catch (JsonProcessingException e) {
+                    RecordResult result = new RecordResult(lineNumber, null);
+                    result.setError("Invalid TickerDetail JSON: " + e.getOriginalMessage());
+                    results.add(result);
+                    continue;
+                }
+
+                String messageId = uniqueIdGenService.generateUniqueId();
+                RecordResult result = new RecordResult(lineNumber, messageId);
+                results.add(result);
+                TickerDetailPayload payload = new TickerDetailPayload(messageId, tickerDetail.getTickers(), tickerDetail.getEmail());
+
+                if (outbox) {
+                    pendingResults.add(result);
+                    pendingPayloads.add(payload);
+                    if (pendingPayloads.size() >= outboxBatchSize) {
+                        storeInOutbox(pendingResults, pendingPayloads);
+                    }
+                    continue;
+                }
+
+                inFlight.acquireUninterruptibly(); // Stops reading the upload until an earlier send completes
+                try {
+                    kafkaSendMetrics.record(kafkaProducerProperties.getTopicName(),
+                                    () -> bulkKafkaTemplate.send(kafkaProducerProperties.getTopicName(), messageId, payload))
+                            .whenComplete((sendResult, ex) -> {
+                                if (ex == null) {
+                                    result.setProduced(true);
+                                } else {
+                                    result.setError(ex.getMessage());
+                                }
+                                inFlight.release();
+                            });
+                } catch (Exception e) {
+                    result.setError(e.getMessage());
+                    inFlight.release();
+                }
+            }
+        }
+
+        if (outbox) {
+            storeInOutbox(pendingResults, pendingPayloads);
+        } else if (!awaitOutstandingSends(inFlight, bulk)) {
+            results.stream()
+                    .filter(result -> !result.isProduced() && result.getError() == null)
+                    .forEach(result -> result.setError("No broker acknowledgement within " + bulk.getCompletionTimeoutMs() + " ms"));
+        }
+
+        int produced = (int) results.stream().filter(RecordResult::isProduced).count();
+        int failed = results.size() - produced;
+        log.info("Bulk analysis upload of {} records produced {} and failed {} in {} ms.",
+                results.size(), produced, failed, System.currentTimeMillis() - startedAt);
+        return new BulkAnalysisSummary(results.size(), produced, failed, results);
+    }
+
+    // Stores one batch in the outbox and clears it; the batch commits or fails as a whole
+    private void storeInOutbox(List<RecordResult> pendingResults, List<TickerDetailPayload> pendingPayloads) {
+        if (pendingPayloads.isEmpty()) {
+            return;
+        }
+        try {
+            analysisOutboxService.enqueueAll(kafkaProducerProperties.getTopicName(), pendingPayloads);
+            pendingResults.forEach(result -> result.setProduced(true));
+        } catch (Exception e) {
+            log.error("Failed to store {} bulk records in the analysis outbox: {}", pendingPayloads.size(), e.getMessage());
+            pendingResults.forEach(result -> result.setError("Failed to store in the outbox: " + e.getMessage()));
+        }
+        pendingResults.clear();
+        pendingPayloads.clear();
+    }
+
+    // All permits back means every send has completed; returns false if some were still pending at the timeout
+    private boolean awaitOutstandingSends(Semaphore inFlight, KafkaProducerProperties.Bulk bulk) {
+        bulkKafkaTemplate.flush();
+        try {
+            if (inFlight.tryAcquire(bulk.getMaxInFlight(), bulk.getCompletionTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                inFlight.release(bulk.getMaxInFlight());
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status
+        }
+        log.warn("Bulk analysis upload still had unacknowledged sends after {} ms.", bulk.getCompletionTimeoutMs());
+        return false;
+    }
+
+    @PreDestroy
+    public void close() {
+        bulkKafkaTemplate.destroy(); // Closes the dedicated producer
+    }
+}
@@ -0,0 +1,191 @@
+// src/main/java/com/interview/service_p/service/TickerPriceHistoryService.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.PriceHistoryProperties;
+import com.interview.service_p.model.TickerPriceSnapshot;
+import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.repository.TickerPriceHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every fetched quote in the append-only, day-partitioned ticker_price_history table,
+ * next to the one-row-per-symbol ticker_statistics table that stays the fast path for current values.
+ * Partitions are created ahead of time and dropped once past retention, on startup and then every
+ * maintenance interval. Appends are handed to a single background writer through a bounded queue, so the
+ * request that fetched the quotes never waits on the insert; the writer never issues partition DDL, which
+ * would lock the parent table, and relies on the pre-created partitions instead.
+ */
+@Service
+public class TickerPriceHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerPriceHistoryService.class);
+
+    private final TickerPriceHistoryRepository historyRepository;
+    private final PriceHistoryProperties historyProperties;
+    // Days known to have a partition, so maintenance only issues DDL for a day it has never seen
+    private final Set<LocalDate> partitionDays = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor writer;
+    private final Counter droppedBatches;
+
+    public TickerPriceHistoryService(TickerPriceHistoryRepository historyRepository,
+                                     PriceHistoryProperties historyProperties,
+                                     MeterRegistry meterRegistry) {
+        this.historyRepository = historyRepository;
+        this.historyProperties = historyProperties;
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(historyProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "price-history-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.droppedBatches = Counter.builder("ticker.history.dropped")
+                .description("Fetched batches not appended to the price history because the writer queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!historyProperties.isEnabled()) {
+            return;
+        }
+        try {
+            historyRepository.createTableIfMissing();
+            maintainPartitions();
+        } catch (Exception e) {
+            // Price history is an analytics side path; the current-value path must start without it
+            log.error("Could not initialize the price history table: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queues one snapshot per fetched statistic for the background writer and returns at once.
+     * When the queue is full the batch is dropped; failures are logged and never reach the caller,
+     * because the current-value table and the cache have already been written.
+     * @param statistics Freshly fetched statistics; their fetchedAt becomes the snapshot time.
+     */
+    public void append(Collection<TickerStatistic> statistics) {
+        if (!historyProperties.isEnabled() || statistics == null || statistics.isEmpty()) {
+            return;
+        }
+        List<TickerPriceSnapshot> snapshots = new ArrayList<>(statistics.size());
+        Instant now = Instant.now();
+        for (TickerStatistic statistic : statistics) {
+            Instant fetchedAt = statistic.getFetchedAt() > 0 ? Instant.ofEpochMilli(statistic.getFetchedAt()) : now;
+            snapshots.add(new TickerPriceSnapshot(statistic.getSymbol(), fetchedAt, statistic.getPrice(),
+                    statistic.getVolume(), statistic.getPeRatio(), statistic.getLastUpdated()));
+        }
+        try {
+            writer.execute(() -> write(snapshots));
+        } catch (RejectedExecutionException e) {
+            droppedBatches.increment();
+            log.warn("Price history queue is full; dropping {} snapshots.", snapshots.size());
+        }
+    }
+
+    private void write(List<TickerPriceSnapshot> snapshots) {
+        try {
+            int written = historyRepository.insertAll(snapshots);
+            log.debug("Appended {} snapshots to the price history.", written);
+        } catch (Exception e) {
+            // Most likely a day without a partition, if maintenance has been failing; it is logged there too
+            log.error("Error appending {} snapshots to the price history: {}", snapshots.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param symbol The ticker symbol.
+     * @param from Start of the range, inclusive.
+     * @param to End of the range, exclusive.
+     * @param limit Maximum snapshots to return; capped at app.ticker.history.max-query-rows.
+     * @return The symbol's snapshots in the range, oldest first.
+     */
+    public List<TickerPriceSnapshot> findHistory(String symbol, Instant from, Instant to, int limit) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        return historyRepository.findBySymbolBetween(symbol, from, to,
+                Math.min(Math.max(limit, 1), historyProperties.getMaxQueryRows()));
+    }
+
+    /**
+     * Creates the partitions for today and the next pre-create days, and drops the ones past retention.
+     */
+    @Scheduled(fixedDelayString = "${app.ticker.history.maintenance-interval-ms:3600000}",
+            initialDelayString = "${app.ticker.history.maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        if (!historyProperties.isEnabled()) {
+            return;
+        }
+        LocalDate today = TickerPriceHistoryRepository.partitionDay(Instant.now());
+        for (int i = 0; i <= historyProperties.getPrecreateDays(); i++) {
+            ensurePartition(today.plusDays(i));
+        }
+        LocalDate oldestKept = today.minusDays(historyProperties.getRetentionDays());
+        for (LocalDate day : historyRepository.findPartitionDays()) {
+            if (day.isBefore(oldestKept)) {
+                dropPartition(day);
+            }
+        }
+    }
+
+    private void dropPartition(LocalDate day) {
+        try {
+            historyRepository.dropPartition(day);
+        } catch (Exception e) {
+            // Most likely a lock held by a long query; the next run retries, and the other expired days still go
+            log.warn("Could not drop price history partition for {}: {}", day, e.getMessage());
+            return;
+        }
+        partitionDays.remove(day);
+        log.info("Dropped price history partition for {} (retention {} days).", day, historyProperties.getRetentionDays());
+    }
+
+    private void ensurePartition(LocalDate day) {
+        if (partitionDays.contains(day)) {
+            return;
+        }
+        try {
+            historyRepository.createPartitionIfMissing(day);
+        } catch (Exception e) {
+            // Another instance may have created it at the same moment; a real problem resurfaces on insert
+            log.warn("Could not create price history partition for {}: {}", day, e.getMessage());
+            return;
+        }
+        partitionDays.add(day);
+    }
+
+    // Lets queued appends finish, within a bound, so a normal shutdown does not lose them
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Price history writer did not drain within 5 s; {} batches dropped.", writer.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status
+            writer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// src/main/java/com/interview/service_p/service/TickerRefreshService.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.TickerRefreshProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Bounded background refresher used for stale-while-revalidate and probabilistic early refresh.
+ * A ticker is refreshed by at most one background task at a time; when the queue is full the
+ * refresh is dropped, and the next request that sees the ticker stale or near expiry asks again.
+ */
+@Service
+public class TickerRefreshService {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerRefreshService.class);
+
+    // Weight of the newest sample in the moving average of upstream fetch durations
+    private static final double FETCH_DURATION_SMOOTHING = 0.2;
+
+    private final ThreadPoolExecutor executor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    // Smoothed upstream fetch duration: the "delta" in the early refresh formula
+    private volatile double averageFetchMillis = 0;
+
+    public TickerRefreshService(TickerRefreshProperties tickerRefreshProperties) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                tickerRefreshProperties.getThreads(),
+                tickerRefreshProperties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tickerRefreshProperties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ticker-refresh-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Refreshes the given tickers in the background, skipping tickers that are already being refreshed.
+     * @param tickers The ticker symbols to refresh.
+     * @param refresher Fetches, persists and caches a batch of tickers.
+     */
+    public void refreshAsync(Collection<String> tickers, Consumer<List<String>> refresher) {
+        List<String> claimed = new ArrayList<>();
+        for (String ticker : tickers) {
+            if (refreshing.add(ticker)) {
+                claimed.add(ticker);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    log.info("Refreshing {} in the background.", claimed);
+                    refresher.accept(claimed);
+                } catch (Exception e) {
+                    log.error("Background refresh of {} failed: {}", claimed, e.getMessage(), e);
+                } finally {
+                    claimed.forEach(refreshing::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            claimed.forEach(refreshing::remove);
+            log.warn("Background refresh queue is full; dropping refresh of {}.", claimed);
+        }
+    }
+
+    /**
+     * Probabilistic early expiration (XFetch): returns true with a probability that rises sharply as
+     * the entry approaches its expiry, scaled by how long a refresh takes. Under load, one request
+     * refreshes a hot key shortly before it expires instead of every request missing at once.
+     * @param fetchedAt Epoch millis when the value was fetched; 0 if unknown.
+     * @param ttlMillis How long after fetchedAt the value expires.
+     * @param beta Aggressiveness; 1.0 is the standard setting, 0 disables early refresh.
+     * @return True if the caller should trigger a background refresh now.
+     */
+    public boolean shouldRefreshEarly(long fetchedAt, long ttlMillis, double beta) {
+        if (fetchedAt <= 0 || beta <= 0 || averageFetchMillis <= 0) {
+            return false;
+        }
+        long expiresAt = fetchedAt + ttlMillis;
+        // -ln(U) with U in (0, 1] is an exponentially distributed "head start"
+        double headStart = -averageFetchMillis * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + headStart >= expiresAt;
+    }
+
+    /**
+     * Records how long an upstream fetch took, feeding the early refresh formula.
+     * @param millis The fetch duration in milliseconds.
+     */
+    public void recordFetchDuration(long millis) {
+        double current = averageFetchMillis;
+        averageFetchMillis = current <= 0 ? millis : current + FETCH_DURATION_SMOOTHING * (millis - current);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
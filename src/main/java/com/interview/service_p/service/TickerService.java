@@ -5,13 +5,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.interview.service_p.config.KafkaProducerProperties;
 import com.interview.service_p.config.RestConfigProperties;
 import com.interview.service_p.config.RestConfigProperties.ApiProviderProperties;
+import com.interview.service_p.config.TickerStatisticsProperties;
 import com.interview.service_p.entity.TickerStatisticEntity;
 import com.interview.service_p.model.kafka.TickerDetail;
 import com.interview.service_p.model.TickerResponse;
 import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.model.TickerStatisticEvent;
 import com.interview.service_p.model.fmp.FmpTickerQuoteResponse;
 import com.interview.service_p.model.kafka.TickerDetailPayload;
 import com.interview.service_p.service.mapper.TickerStatisticMapper;
+import com.interview.service_p.service.support.KafkaSendMetrics;
+import com.interview.service_p.service.support.RequestPriority;
+import com.interview.service_p.service.support.SingleFlight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,17 +27,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,13 +63,25 @@ public class TickerService {
     private final KafkaTemplate<String, TickerDetailPayload> kafkaTemplate;
     private final KafkaProducerProperties kafkaProducerProperties;
     private final ObjectMapper objectMapper; // Kept as it's used for other methods
+    private final KafkaSpoolService kafkaSpoolService; // Keeps messages that fail both the main and the DLT send
+    private final AnalysisOutboxService analysisOutboxService; // Used instead of Kafka in OUTBOX delivery mode
+    private final AnalysisDedupService analysisDedupService; // Collapses identical requests within a short window
+    private final KafkaSendMetrics kafkaSendMetrics; // Send latency and failures per topic
 
     // Dependencies for Ticker Data Fetching
     private final RedisTickerCacheService redisCacheService;
     private final TickerStatisticDbService dbService;
+    private final TickerPriceHistoryService priceHistoryService; // Append-only history of every fetched quote
+    private final TickerUniverseService tickerUniverseService; // Columnar in-memory snapshot of every symbol
     private final RestImpl restImpl; // Generic RestImpl
     private final TickerStatisticMapper tickerStatisticMapper;
     private final ApiProviderProperties fmpProperties;
+    private final TickerStatisticsProperties tickerStatisticsProperties;
+    private final TickerRefreshService tickerRefreshService;
+    private final SymbolPopularityTracker symbolPopularityTracker;
+    // Coalesces concurrent cache misses for the same ticker into one DB/API load
+    private final SingleFlight<String, TickerStatistic> missLoader;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public TickerService(UniqueIdGenService uniqueIdGenService,
@@ -55,29 +89,64 @@ public class TickerService {
                          KafkaTemplate<String, TickerDetailPayload> kafkaTemplate,
                          KafkaProducerProperties kafkaProducerProperties,
                          ObjectMapper objectMapper,
+                         KafkaSpoolService kafkaSpoolService,
+                         AnalysisOutboxService analysisOutboxService,
+                         AnalysisDedupService analysisDedupService,
                          RedisTickerCacheService redisCacheService,
                          TickerStatisticDbService dbService,
+                         TickerPriceHistoryService priceHistoryService,
+                         TickerUniverseService tickerUniverseService,
                          RestImpl restImpl,
                          TickerStatisticMapper tickerStatisticMapper,
-                         RestConfigProperties restConfigProperties) {
+                         RestConfigProperties restConfigProperties,
+                         TickerStatisticsProperties tickerStatisticsProperties,
+                         TickerRefreshService tickerRefreshService,
+                         SymbolPopularityTracker symbolPopularityTracker,
+                         MeterRegistry meterRegistry) {
         this.uniqueIdGenService = uniqueIdGenService;
         this.kafkaTemplate = kafkaTemplate;
         this.kafkaProducerProperties = kafkaProducerProperties;
         this.objectMapper = objectMapper;
+        this.kafkaSpoolService = kafkaSpoolService;
+        this.analysisOutboxService = analysisOutboxService;
+        this.analysisDedupService = analysisDedupService;
+        this.kafkaSendMetrics = new KafkaSendMetrics(meterRegistry);
 
         this.redisCacheService = redisCacheService;
         this.dbService = dbService;
+        this.priceHistoryService = priceHistoryService;
+        this.tickerUniverseService = tickerUniverseService;
         this.restImpl = restImpl;
         this.tickerStatisticMapper = tickerStatisticMapper;
         this.fmpProperties = restConfigProperties.getProviders().get("fmp");
         if (this.fmpProperties == null) {
             throw new IllegalStateException("FMP API properties (rest.api.providers.fmp) not configured!");
         }
+        this.tickerStatisticsProperties = tickerStatisticsProperties;
+        this.tickerRefreshService = tickerRefreshService;
+        this.symbolPopularityTracker = symbolPopularityTracker;
+        this.missLoader = new SingleFlight<>("ticker-miss", meterRegistry);
+        this.meterRegistry = meterRegistry;
     }
 
-    // Synchronous Kafka message production
-    public void initiateTickerAnalysis(TickerDetail tickerDetail) {
+    /**
+     * Kafka message production that completes only once the broker acknowledges the message.
+     * No thread waits in the meantime: each attempt is bounded by a timeout on its send future,
+     * and retries are scheduled on a timer instead of sleeping.
+     * In OUTBOX delivery mode the message is instead stored in the outbox, and the future completes once it is committed.
+     * A duplicate of a request accepted within the dedup window is not produced again: it completes with the original
+     * message ID once the original is acknowledged, and fails if the original could not be delivered.
+     *
+     * @param tickerDetail The analysis request to publish.
+     * @return A future of the message ID that completes when the broker acknowledges the message (or the outbox
+     *         insert commits), or completes exceptionally once every attempt has failed.
+     */
+    public CompletableFuture<String> initiateTickerAnalysis(TickerDetail tickerDetail) {
         String messageId = uniqueIdGenService.generateUniqueId();
+        AnalysisDedupService.Claim claim = analysisDedupService.claim(tickerDetail, messageId);
+        if (!claim.isOwner()) {
+            return claim.delivered();
+        }
         // Create the TickerDetailPayload object directly
         TickerDetailPayload kafkaMessagePayload = new TickerDetailPayload(
                 messageId,
@@ -85,60 +154,89 @@ public class TickerService {
                 tickerDetail.getEmail()
         );
 
-        int attempt = 0;
-        boolean sentSuccessfully = false;
-        Exception lastException = null;
+        if (kafkaProducerProperties.getDeliveryMode() == KafkaProducerProperties.DeliveryMode.OUTBOX) {
+            try {
+                analysisOutboxService.enqueue(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload);
+                analysisDedupService.delivered(claim);
+                return CompletableFuture.completedFuture(messageId);
+            } catch (Exception e) {
+                log.error("Failed to store message ID: {} in the analysis outbox. Error: {}", messageId, e.getMessage());
+                analysisDedupService.release(claim, e);
+                return CompletableFuture.failedFuture(new RuntimeException("Failed to store ticker analysis request in the outbox.", e));
+            }
+        }
 
-        while (attempt < kafkaProducerProperties.getMaxRetries() && !sentSuccessfully) {
-            attempt++;
-            log.info("Attempt {} to produce Kafka message with ID: {} to topic '{}'",
-                    attempt, messageId, kafkaProducerProperties.getTopicName());
+        CompletableFuture<SendResult<String, TickerDetailPayload>> acknowledged = new CompletableFuture<>();
+        sendWithRetries(messageId, kafkaMessagePayload, 1, acknowledged);
+        // An undelivered request must not suppress the client's retry of it
+        acknowledged.whenComplete((result, ex) -> {
+            if (ex != null) {
+                analysisDedupService.release(claim, ex);
+            } else {
+                analysisDedupService.delivered(claim);
+            }
+        });
+        return acknowledged.thenApply(result -> messageId);
+    }
 
-            try {
-                // Send the TickerDetailPayload object directly
-                CompletableFuture<SendResult<String, TickerDetailPayload>> future =
-                        kafkaTemplate.send(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload);
+    // Makes one send attempt, and on failure schedules the next one after the retry delay
+    private void sendWithRetries(String messageId, TickerDetailPayload kafkaMessagePayload, int attempt,
+                                 CompletableFuture<SendResult<String, TickerDetailPayload>> acknowledged) {
+        log.info("Attempt {} to produce Kafka message with ID: {} to topic '{}'",
+                attempt, messageId, kafkaProducerProperties.getTopicName());
 
-                // Use get(timeout) to wait for the result with a timeout
-                SendResult<String, TickerDetailPayload> result = future.get(
-                        kafkaProducerProperties.getRetryDelayMs() * 2, TimeUnit.MILLISECONDS);
+        CompletableFuture<SendResult<String, TickerDetailPayload>> future;
+        try {
+            // Send the TickerDetailPayload object directly
+            future = kafkaSendMetrics.record(kafkaProducerProperties.getTopicName(),
+                    () -> kafkaTemplate.send(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload));
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
 
-                log.info("Kafka message with ID: {} successfully produced to topic '{}' " +
-                                "at offset {} in partition {}",
-                        messageId,
-                        result.getRecordMetadata().topic(),
-                        result.getRecordMetadata().offset(),
-                        result.getRecordMetadata().partition());
-                sentSuccessfully = true;
-
-            } catch (InterruptedException | ExecutionException | TimeoutException e) {
-                lastException = e;
-                log.warn("Failed to produce Kafka message with ID: {} on attempt {}. Error: {}",
-                        messageId, attempt, e.getMessage());
-
-                if (attempt < kafkaProducerProperties.getMaxRetries()) {
-                    try {
-                        // Only sleep if there are more retries left
-                        Thread.sleep(kafkaProducerProperties.getRetryDelayMs());
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt(); // Preserve interrupt status
-                        log.error("Kafka message production retry interrupted for ID: {}", messageId);
-                        break; // Exit loop if interrupted
+        future.orTimeout(kafkaProducerProperties.getRetryDelayMs() * 2, TimeUnit.MILLISECONDS)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        log.info("Kafka message with ID: {} successfully produced to topic '{}' " +
+                                        "at offset {} in partition {}",
+                                messageId,
+                                result.getRecordMetadata().topic(),
+                                result.getRecordMetadata().offset(),
+                                result.getRecordMetadata().partition());
+                        acknowledged.complete(result);
+                        return;
                     }
-                }
-            }
-        }
 
-        if (!sentSuccessfully) {
-            log.error("Failed to produce Kafka message with ID: {} after {} attempts. Last error: {}",
-                    messageId, kafkaProducerProperties.getMaxRetries(), lastException != null ? lastException.getMessage() : "Unknown error");
-            throw new RuntimeException("Failed to produce Kafka message for ticker analysis.", lastException);
-        }
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    log.warn("Failed to produce Kafka message with ID: {} on attempt {}. Error: {}",
+                            messageId, attempt, cause.getMessage());
+                    if (attempt < kafkaProducerProperties.getMaxRetries()) {
+                        // Only wait if there are more retries left; the timer hands the next attempt to a pool thread
+                        CompletableFuture.runAsync(
+                                () -> sendWithRetries(messageId, kafkaMessagePayload, attempt + 1, acknowledged),
+                                CompletableFuture.delayedExecutor(kafkaProducerProperties.getRetryDelayMs(), TimeUnit.MILLISECONDS));
+                    } else {
+                        log.error("Failed to produce Kafka message with ID: {} after {} attempts. Last error: {}",
+                                messageId, attempt, cause.getMessage());
+                        acknowledged.completeExceptionally(
+                                new RuntimeException("Failed to produce Kafka message for ticker analysis.", cause));
+                    }
+                });
     }
 
-    // Asynchronous Kafka message production
-    public void initiateTickerAnalysisAsynchronously(TickerDetail tickerDetail) {
+    /**
+     * Asynchronous Kafka message production: returns as soon as the send is initiated.
+     * A duplicate of a request accepted within the dedup window is not produced again.
+     *
+     * @param tickerDetail The analysis request to publish.
+     * @return The message ID the request is tracked under; for a duplicate, the original request's message ID.
+     */
+    public String initiateTickerAnalysisAsynchronously(TickerDetail tickerDetail) {
         String messageId = uniqueIdGenService.generateUniqueId();
+        AnalysisDedupService.Claim claim = analysisDedupService.claim(tickerDetail, messageId);
+        if (!claim.isOwner()) {
+            return claim.messageId();
+        }
         // Create the TickerDetailPayload object directly
         TickerDetailPayload kafkaMessagePayload = new TickerDetailPayload(
                 messageId,
@@ -146,6 +244,18 @@ public class TickerService {
                 tickerDetail.getEmail()
         );
 
+        if (kafkaProducerProperties.getDeliveryMode() == KafkaProducerProperties.DeliveryMode.OUTBOX) {
+            // Already decoupled from the broker: one local insert, published later by the outbox relay
+            try {
+                analysisOutboxService.enqueue(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload);
+            } catch (RuntimeException e) {
+                analysisDedupService.release(claim, e);
+                throw e;
+            }
+            analysisDedupService.delivered(claim);
+            return messageId;
+        }
+
         log.info("Attempting to asynchronously produce Kafka message with ID: {} to main topic '{}'. Request thread will be released immediately.", messageId, kafkaProducerProperties.getTopicName());
 
         // Note: The 'simulateProducerFailure' logic needs to be updated if it relies on a String in the list.
@@ -163,7 +273,8 @@ public class TickerService {
             log.warn("Simulating immediate Kafka send failure for message ID: {} due to 'PRODUCER_FAIL' ticker.", messageId);
         } else {
             // Send the TickerDetailPayload object directly
-            future = kafkaTemplate.send(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload);
+            future = kafkaSendMetrics.record(kafkaProducerProperties.getTopicName(),
+                    () -> kafkaTemplate.send(kafkaProducerProperties.getTopicName(), messageId, kafkaMessagePayload));
         }
 
         future.whenComplete((result, ex) -> {
@@ -175,31 +286,44 @@ public class TickerService {
                         result.getRecordMetadata().offset(),
                         result.getRecordMetadata().partition(),
                         Thread.currentThread().getName());
+                analysisDedupService.delivered(claim);
             } else {
                 log.error("Failed to produce Kafka message with ID: {} to main topic '{}'. Error: {} (Async Callback executed by: {}). Sending to DLQ.",
                         messageId, kafkaProducerProperties.getTopicName(), ex.getMessage(), ex, Thread.currentThread().getName());
                 // Pass the TickerDetailPayload object to DLT
-                sendToDeadLetterTopic(messageId, kafkaMessagePayload, ex);
+                sendToDeadLetterTopic(messageId, kafkaMessagePayload, ex, claim);
             }
         });
 
         log.info("Kafka message send initiated for ID: {}. HTTP Request thread is now free.", messageId);
+        return messageId;
     }
 
     // Method to send to Dead Letter Topic
-    private void sendToDeadLetterTopic(String messageId, TickerDetailPayload payload, Throwable originalException) { // Updated payload type
+    // Only a spooled message still reaches the main topic, so only then does the claim count as delivered;
+    // one parked in the DLT or lost is released, and a retry of the request is produced again
+    private void sendToDeadLetterTopic(String messageId, TickerDetailPayload payload, Throwable originalException,
+                                       AnalysisDedupService.Claim claim) { // Updated payload type
         log.info("Attempting to send failed producer message ID: {} to DLT topic '{}'", messageId, kafkaProducerProperties.getDltTopicName());
         // No need for objectMapper.writeValueAsString here, send the object directly
-        kafkaTemplate.send(kafkaProducerProperties.getDltTopicName(), messageId, payload) // Send the object directly
+        kafkaSendMetrics.record(kafkaProducerProperties.getDltTopicName(),
+                        () -> kafkaTemplate.send(kafkaProducerProperties.getDltTopicName(), messageId, payload)) // Send the object directly
                 .whenComplete((dltResult, dltEx) -> {
                     if (dltEx == null) {
                         log.info("Successfully sent failed producer message ID: {} to DLT topic '{}' at offset {} in partition {}",
                                 messageId, dltResult.getRecordMetadata().topic(),
                                 dltResult.getRecordMetadata().offset(),
                                 dltResult.getRecordMetadata().partition());
-                    } else {
-                        log.error("CRITICAL: Failed to send producer message ID: {} to DLT topic '{}'. This message is lost! Error: {}",
+                        analysisDedupService.release(claim, originalException);
+                    } else if (!kafkaSpoolService.spool(kafkaProducerProperties.getTopicName(), messageId, payload)) {
+                        analysisDedupService.release(claim, dltEx);
+                        log.error("CRITICAL: Failed to send producer message ID: {} to DLT topic '{}' and could not spool it. This message is lost! Error: {}",
                                 messageId, kafkaProducerProperties.getDltTopicName(), dltEx.getMessage(), dltEx);
+                    } else {
+                        // The broker is most likely down; the spool replays the message to the main topic once it is back
+                        log.warn("Failed to send producer message ID: {} to DLT topic '{}'; spooled it locally. Error: {}",
+                                messageId, kafkaProducerProperties.getDltTopicName(), dltEx.getMessage());
+                        analysisDedupService.delivered(claim);
                     }
                 });
     }
@@ -218,85 +342,523 @@ public class TickerService {
         }
 
         log.info("Processing request for ticker statistics for tickers: {}", tickers);
+        symbolPopularityTracker.record(tickers);
+
+        // 1. Check Redis Cache for the whole request in one round trip
+        Map<String, TickerStatistic> resolved = new HashMap<>(redisCacheService.getAll(tickers));
+        refreshEarlyIfDue(resolved);
+        List<String> misses = tickers.stream()
+                .distinct()
+                .filter(ticker -> !resolved.containsKey(ticker))
+                .collect(Collectors.toList());
+        log.info("Found {} of {} tickers in cache (Cache Hit).", resolved.size(), tickers.size());
+        countCacheLookups(resolved.size(), misses.size());
+
+        if (!misses.isEmpty()) {
+            // 2./3. Resolve the misses from DB or external API, joining any load already in flight for a ticker
+            resolved.putAll(missLoader.loadAll(misses, this::loadAndCacheMissingTickers));
+        }
 
         List<TickerStatistic> results = tickers.stream()
-                .map(this::getStatisticForSingleTicker)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+                .map(resolved::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
         return new TickerResponse(results);
     }
 
     /**
-     * Orchestrates fetching a single ticker statistic: Cache -> DB -> External API.
-     * @param ticker The ticker symbol.
-     * @return An Optional containing the TickerStatistic if found/fetched, empty otherwise.
+     * Non-blocking variant of getTickerStatistics.
+     * Redis and DB calls run on the bounded-elastic scheduler, and FMP batch calls are fanned out
+     * concurrently (up to app.ticker.statistics.max-concurrency), so no thread waits on the upstream API.
+     *
+     * @param tickers A list of ticker symbols (e.g., "META", "GOOG").
+     * @return A Mono of a TickerResponse object containing a list of TickerStatistic objects.
+     */
+    public Mono<TickerResponse> getTickerStatisticsReactive(List<String> tickers) {
+        if (tickers == null || tickers.isEmpty()) {
+            log.warn("No tickers provided to fetch ticker statistics.");
+            return Mono.just(new TickerResponse(List.of()));
+        }
+
+        log.info("Processing reactive request for ticker statistics for tickers: {}", tickers);
+        symbolPopularityTracker.record(tickers);
+
+        // 1. Check Redis Cache for the whole request in one round trip
+        return Mono.fromCallable(() -> redisCacheService.getAll(tickers))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> {
+                    refreshEarlyIfDue(cached);
+                    Map<String, TickerStatistic> resolved = new HashMap<>(cached);
+                    List<String> misses = tickers.stream()
+                            .distinct()
+                            .filter(ticker -> !resolved.containsKey(ticker))
+                            .collect(Collectors.toList());
+                    log.info("Found {} of {} tickers in cache (Cache Hit).", resolved.size(), tickers.size());
+                    countCacheLookups(resolved.size(), misses.size());
+                    if (misses.isEmpty()) {
+                        return Mono.just(resolved);
+                    }
+                    // 2./3. Resolve the misses from DB or external API, joining any load already in flight for a ticker
+                    return Mono.fromFuture(() -> missLoader.loadAllAsync(misses,
+                                    batch -> loadAndCacheMissingTickersReactive(batch).toFuture()))
+                            .map(loaded -> {
+                                resolved.putAll(loaded);
+                                return resolved;
+                            });
+                })
+                .map(resolved -> new TickerResponse(tickers.stream()
+                        .map(resolved::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Streaming variant of getTickerStatistics: emits one record per distinct ticker as soon as it resolves.
+     * Cache hits are emitted after a single Redis round trip, DB rows after one DB query, and FMP results
+     * per batch call as each call completes, so fast tiers never wait on the slowest upstream call.
+     *
+     * @param tickers A list of ticker symbols (e.g., "META", "GOOG").
+     * @return A Flux with exactly one TickerStatisticEvent per distinct ticker, in resolution order.
      */
-    private Optional<TickerStatistic> getStatisticForSingleTicker(String ticker) {
-        // 1. Check Redis Cache
-        Optional<TickerStatistic> cachedStatistic = redisCacheService.get(ticker);
-        if (cachedStatistic.isPresent()) {
-            log.info("Found {} in Redis cache (Cache Hit).", ticker);
-            return cachedStatistic;
+    public Flux<TickerStatisticEvent> streamTickerStatistics(List<String> tickers) {
+        if (tickers == null || tickers.isEmpty()) {
+            log.warn("No tickers provided to stream ticker statistics.");
+            return Flux.empty();
         }
 
+        log.info("Processing streaming request for ticker statistics for tickers: {}", tickers);
+        symbolPopularityTracker.record(tickers);
+        List<String> distinct = tickers.stream().distinct().collect(Collectors.toList());
+        Set<String> emitted = ConcurrentHashMap.newKeySet();
+
+        // 1. Check Redis Cache for the whole request in one round trip
+        return Mono.fromCallable(() -> redisCacheService.getAll(distinct))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(cached -> {
+                    refreshEarlyIfDue(cached);
+                    List<String> misses = distinct.stream()
+                            .filter(ticker -> !cached.containsKey(ticker))
+                            .collect(Collectors.toList());
+                    log.info("Found {} of {} tickers in cache (Cache Hit).", cached.size(), distinct.size());
+                    countCacheLookups(cached.size(), misses.size());
+                    return Flux.fromIterable(cached.entrySet())
+                            .map(entry -> TickerStatisticEvent.resolved(entry.getKey(), entry.getValue()))
+                            .concatWith(streamMissingTickers(misses));
+                })
+                .doOnNext(event -> emitted.add(event.getSymbol()))
+                // Whatever was not emitted before an unexpected error gets an explicit FAILED record
+                .onErrorResume(e -> {
+                    log.error("Error streaming statistics for tickers {}: {}", distinct, e.getMessage(), e);
+                    return Flux.fromIterable(distinct)
+                            .filter(ticker -> !emitted.contains(ticker))
+                            .map(ticker -> TickerStatisticEvent.failed(ticker, e.getMessage()));
+                });
+    }
+
+    /**
+     * Resolves streamed cache misses: DB rows are emitted right after the DB query, while the tickers
+     * that need FMP are fetched batch by batch (through the single-flight loader) and emitted per batch.
+     */
+    private Flux<TickerStatisticEvent> streamMissingTickers(List<String> misses) {
+        if (misses.isEmpty()) {
+            return Flux.empty();
+        }
         // 2. Cache Miss: Check Database
-        Optional<TickerStatistic> dbStatisticOptional = dbService.findBySymbol(ticker);
-        if (dbStatisticOptional.isPresent()) {
-            TickerStatistic dbStatistic = dbStatisticOptional.get();
-            Optional<TickerStatisticEntity> dbEntityOptional = dbService.findBySymbol(ticker)
-                    .map(dbService::convertToEntity);
-
-
-            if (dbEntityOptional.isPresent()) {
-                LocalDateTime lastFetched = dbEntityOptional.get().getLastFetchedTime();
-                long minutesSinceLastFetch = ChronoUnit.MINUTES.between(lastFetched, LocalDateTime.now());
-
-                if (minutesSinceLastFetch < fmpProperties.getDbStalenessThresholdMinutes()) {
-                    log.info("Found {} in DB (DB Hit) and it's fresh ({} mins old). Caching to Redis and returning.",
-                            ticker, minutesSinceLastFetch);
-                    redisCacheService.put(ticker, dbStatistic, fmpProperties.getDbStalenessThresholdMinutes() * 60);
-                    return Optional.of(dbStatistic);
-                } else {
-                    log.info("Found {} in DB (DB Hit) but it's stale ({} mins old). Proceeding to external API.",
-                            ticker, minutesSinceLastFetch);
-                }
+        return Mono.fromCallable(() -> dbService.findAllBySymbols(misses))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(dbEntities -> {
+                    Map<String, TickerStatistic> loaded = new LinkedHashMap<>();
+                    Map<String, TickerStatistic> stale = new LinkedHashMap<>();
+                    List<String> toFetch = collectFreshDbRows(misses, dbEntities, loaded, stale);
+
+                    Flux<TickerStatisticEvent> fromDb = Mono.fromCallable(() -> {
+                                saveFetchedAndCache(loaded, Map.of());
+                                return serveStale(loaded, stale);
+                            })
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMapIterable(Map::entrySet)
+                            .map(entry -> TickerStatisticEvent.resolved(entry.getKey(), entry.getValue()));
+
+                    // 3. DB Miss or Stale: Fetch from External API, one event batch per FMP call
+                    Flux<TickerStatisticEvent> fromApi = Flux.fromIterable(chunk(toFetch, fmpProperties.getBatchSize()))
+                            .flatMap(chunk -> Mono.fromFuture(() -> missLoader.loadAllAsync(chunk,
+                                                    batch -> fetchAndCacheReactive(batch, dbEntities).toFuture()))
+                                            .flatMapIterable(found -> chunk.stream()
+                                                    .map(ticker -> found.containsKey(ticker)
+                                                            ? TickerStatisticEvent.resolved(ticker, found.get(ticker))
+                                                            : TickerStatisticEvent.unavailable(ticker))
+                                                    .collect(Collectors.toList())),
+                                    tickerStatisticsProperties.getMaxConcurrency());
+
+                    return Flux.merge(fromDb, fromApi);
+                });
+    }
+
+    // Fetches tickers from FMP and writes them through, falling back to whatever DB row exists for tickers FMP did not deliver
+    private Mono<Map<String, TickerStatistic>> fetchAndCacheReactive(List<String> tickers,
+                                                                     Map<String, TickerStatisticEntity> dbEntities) {
+        return fetchFromApiReactive(tickers)
+                .flatMap(fetched -> Mono.fromCallable(() -> {
+                    Map<String, TickerStatistic> loaded = new LinkedHashMap<>();
+                    saveFetchedAndCache(loaded, fetched);
+                    return fallBackToDbRows(loaded, tickers, fetched, dbEntities);
+                }).subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    /**
+     * Fetches the given tickers from the external API and writes them through to the DB and Redis.
+     * Used by stale-while-revalidate and early refresh; never serves stale data.
+     * @param tickers The ticker symbols to refresh.
+     * @return How many of them were fetched.
+     */
+    public int refreshTickers(List<String> tickers) {
+        return refreshTickers(tickers, RequestPriority.BACKGROUND);
+    }
+
+    /**
+     * Like refreshTickers(List), with the priority the FMP calls are made and counted under.
+     * @param tickers The ticker symbols to refresh.
+     * @param priority BACKGROUND, or REFRESH_AHEAD for calls charged to the refresh-ahead budget.
+     * @return How many of them were fetched.
+     */
+    public int refreshTickers(List<String> tickers, RequestPriority priority) {
+        Map<String, TickerStatistic> fetched = fetchFromApi(tickers, priority);
+        saveFetchedAndCache(new LinkedHashMap<>(), fetched);
+        return fetched.size();
+    }
+
+    /**
+     * Resolves cache misses and writes them back to Redis in one round trip.
+     * Caching happens inside the single-flight load so that callers arriving after it finishes hit the cache.
+     * Stale DB rows inside the serve-stale window are returned (marked stale) but not cached, and refreshed in the background.
+     * @param tickers The distinct ticker symbols that missed the cache.
+     * @return A map from ticker to TickerStatistic for every ticker that was found or fetched.
+     */
+    private Map<String, TickerStatistic> loadAndCacheMissingTickers(List<String> tickers) {
+        // 2. Cache Miss: Check Database
+        Map<String, TickerStatistic> loaded = new LinkedHashMap<>();
+        Map<String, TickerStatistic> stale = new LinkedHashMap<>();
+        Map<String, TickerStatisticEntity> dbEntities = dbService.findAllBySymbols(tickers);
+        List<String> toFetch = collectFreshDbRows(tickers, dbEntities, loaded, stale);
+
+        // 3. DB Miss or Stale: Fetch from External API
+        Map<String, TickerStatistic> fetched = fetchFromApi(toFetch, RequestPriority.INTERACTIVE);
+        saveFetchedAndCache(loaded, fetched);
+        return fallBackToDbRows(serveStale(loaded, stale), toFetch, fetched, dbEntities);
+    }
+
+    // Reactive counterpart of loadAndCacheMissingTickers
+    private Mono<Map<String, TickerStatistic>> loadAndCacheMissingTickersReactive(List<String> tickers) {
+        // 2. Cache Miss: Check Database
+        return Mono.fromCallable(() -> dbService.findAllBySymbols(tickers))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(dbEntities -> {
+                    Map<String, TickerStatistic> loaded = new LinkedHashMap<>();
+                    Map<String, TickerStatistic> stale = new LinkedHashMap<>();
+                    List<String> toFetch = collectFreshDbRows(tickers, dbEntities, loaded, stale);
+
+                    // 3. DB Miss or Stale: Fetch from External API
+                    return fetchFromApiReactive(toFetch)
+                            .flatMap(fetched -> Mono.fromCallable(() -> {
+                                saveFetchedAndCache(loaded, fetched);
+                                return fallBackToDbRows(serveStale(loaded, stale), toFetch, fetched, dbEntities);
+                            }).subscribeOn(Schedulers.boundedElastic()));
+                });
+    }
+
+    /**
+     * Sorts DB rows by age: fresh rows go into {@code loaded}, rows past the staleness threshold but
+     * still inside the provider's serve-stale window go into {@code stale}, and everything else must be fetched.
+     * @param tickers The ticker symbols that missed the cache.
+     * @param dbEntities The DB rows found for those tickers.
+     * @param loaded Receives the fresh DB rows, keyed by ticker.
+     * @param stale Receives the stale-but-servable DB rows, keyed by ticker and marked stale.
+     * @return The tickers that are missing from the DB or too old to serve, and must be fetched from the external API.
+     */
+    private List<String> collectFreshDbRows(List<String> tickers,
+                                            Map<String, TickerStatisticEntity> dbEntities,
+                                            Map<String, TickerStatistic> loaded,
+                                            Map<String, TickerStatistic> stale) {
+        List<String> toFetch = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        long stalenessThreshold = fmpProperties.getDbStalenessThresholdMinutes();
+        long serveStaleUntil = stalenessThreshold + fmpProperties.getServeStaleWindowMinutes();
+        int misses = 0;
+        int expired = 0;
+        for (String ticker : tickers) {
+            TickerStatisticEntity dbEntity = dbEntities.get(ticker);
+            if (dbEntity == null) {
+                log.info("Did not find {} in DB (DB Miss). Proceeding to external API.", ticker);
+                toFetch.add(ticker);
+                misses++;
+                continue;
+            }
+            long minutesSinceLastFetch = ChronoUnit.MINUTES.between(dbEntity.getLastFetchedTime(), now);
+            if (minutesSinceLastFetch < stalenessThreshold) {
+                log.info("Found {} in DB (DB Hit) and it's fresh ({} mins old). Caching to Redis and returning.",
+                        ticker, minutesSinceLastFetch);
+                loaded.put(ticker, dbService.convertToDto(dbEntity));
+            } else if (minutesSinceLastFetch < serveStaleUntil) {
+                log.info("Found {} in DB (DB Hit) but it's stale ({} mins old). Serving stale and refreshing in the background.",
+                        ticker, minutesSinceLastFetch);
+                TickerStatistic staleStatistic = dbService.convertToDto(dbEntity);
+                staleStatistic.setStale(true);
+                stale.put(ticker, staleStatistic);
             } else {
-                log.warn("DB hit for {} but could not retrieve entity for staleness check. Proceeding to external API.", ticker);
+                log.info("Found {} in DB (DB Hit) but it's stale ({} mins old). Proceeding to external API.",
+                        ticker, minutesSinceLastFetch);
+                toFetch.add(ticker);
+                expired++;
             }
-        } else {
-            log.info("Did not find {} in DB (DB Miss). Proceeding to external API.", ticker);
         }
+        countLookups("db", "hit", tickers.size() - toFetch.size() - stale.size());
+        countLookups("db", "stale", stale.size());
+        countLookups("db", "expired", expired);
+        countLookups("db", "miss", misses);
+        return toFetch;
+    }
 
-        // 3. DB Miss or Stale: Fetch from External API
-        log.info("Fetching {} from external API (FMP).", ticker);
+    /**
+     * Serves DB rows, however old, for tickers the external API could not deliver (provider down,
+     * circuit breaker open or call rejected). The rows are marked stale and not cached, so the next
+     * request tries the API again.
+     */
+    private Map<String, TickerStatistic> fallBackToDbRows(Map<String, TickerStatistic> served,
+                                                          List<String> toFetch,
+                                                          Map<String, TickerStatistic> fetched,
+                                                          Map<String, TickerStatisticEntity> dbEntities) {
+        Map<String, TickerStatistic> result = served;
+        int fallbacks = 0;
+        int unavailable = 0;
+        for (String ticker : toFetch) {
+            TickerStatisticEntity dbEntity = dbEntities.get(ticker);
+            if (fetched.containsKey(ticker)) {
+                continue;
+            }
+            if (dbEntity == null) {
+                unavailable++;
+                continue;
+            }
+            fallbacks++;
+            if (result == served) {
+                result = new LinkedHashMap<>(served);
+            }
+            log.warn("Could not fetch {} from the external API{}. Falling back to DB data last fetched at {}.",
+                    ticker, restImpl.isCircuitOpen("fmp") ? " (circuit open)" : "", dbEntity.getLastFetchedTime());
+            TickerStatistic fallback = dbService.convertToDto(dbEntity);
+            fallback.setStale(true);
+            result.put(ticker, fallback);
+        }
+        countLookups("api", "hit", toFetch.size() - fallbacks - unavailable);
+        countLookups("api", "db_fallback", fallbacks);
+        countLookups("api", "miss", unavailable);
+        return result;
+    }
 
-        // Prepare resource path variables and query parameters for the generic executeGet call
-        Map<String, String> resourcePathVariables = new HashMap<>();
-        resourcePathVariables.put("ticker", ticker); // Replace {ticker} in resourcePath
+    private void countCacheLookups(int hits, int misses) {
+        countLookups("cache", "hit", hits);
+        countLookups("cache", "miss", misses);
+    }
+
+    /**
+     * Counts tickers by the tier that looked them up and what it found, as ticker.statistics.lookups.
+     * Hit, miss and stale ratios per tier follow from these counts; both tags take a small fixed set of values.
+     */
+    private void countLookups(String tier, String result, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("ticker.statistics.lookups")
+                .description("Tickers looked up per read-path tier, by result")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    // Adds stale rows to the result without caching them, and hands them to the background refresher
+    private Map<String, TickerStatistic> serveStale(Map<String, TickerStatistic> loaded, Map<String, TickerStatistic> stale) {
+        if (stale.isEmpty()) {
+            return loaded;
+        }
+        tickerRefreshService.refreshAsync(stale.keySet(), this::refreshTickers);
+        Map<String, TickerStatistic> served = new LinkedHashMap<>(loaded);
+        served.putAll(stale);
+        return served;
+    }
 
-        Map<String, String> queryParams = new HashMap<>();
-        // No additional query parameters needed here, as API key is handled by RestImpl
+    // Starts a background refresh for cached tickers that the early refresh formula says are about to expire
+    private void refreshEarlyIfDue(Map<String, TickerStatistic> cached) {
+        long ttlMillis = TimeUnit.MINUTES.toMillis(fmpProperties.getDbStalenessThresholdMinutes());
+        List<String> due = new ArrayList<>();
+        cached.forEach((ticker, statistic) -> {
+            if (tickerRefreshService.shouldRefreshEarly(statistic.getFetchedAt(), ttlMillis, fmpProperties.getEarlyRefreshBeta())) {
+                due.add(ticker);
+            }
+        });
+        if (!due.isEmpty()) {
+            log.info("Refreshing {} early, ahead of cache expiry.", due);
+            tickerRefreshService.refreshAsync(due, this::refreshTickers);
+        }
+    }
 
-        // Call generic RestImpl and expect FmpTickerQuoteResponse
-        Optional<FmpTickerQuoteResponse> fmpResponseOptional = restImpl.executeGet(
+    // Persists freshly fetched tickers with one bulk upsert, then caches everything loaded with one pipelined write
+    private void saveFetchedAndCache(Map<String, TickerStatistic> loaded, Map<String, TickerStatistic> fetched) {
+        if (!fetched.isEmpty()) {
+            long fetchedAt = System.currentTimeMillis();
+            fetched.values().forEach(statistic -> statistic.setFetchedAt(fetchedAt));
+            dbService.saveAll(fetched.values());
+            priceHistoryService.append(fetched.values());
+            tickerUniverseService.update(fetched.values());
+            log.info("Successfully fetched {} tickers from FMP and saved them to DB.", fetched.size());
+        }
+        loaded.putAll(fetched);
+        redisCacheService.putAll(loaded, fmpProperties.getDbStalenessThresholdMinutes() * 60);
+    }
+
+    /**
+     * Fetches tickers from the external API (FMP) using its comma-separated batch quote endpoint.
+     * Tickers are split into chunks of the provider's batch size, and each chunk is one HTTP call.
+     * @param tickers The ticker symbols to fetch.
+     * @param priority Whether a user request is waiting on the fetch; decides its share of the FMP rate limit.
+     * @return A map from requested ticker to TickerStatistic for every ticker FMP returned.
+     */
+    private Map<String, TickerStatistic> fetchFromApi(List<String> tickers, RequestPriority priority) {
+        List<List<String>> chunks = chunk(tickers, fmpProperties.getBatchSize());
+        if (tickerStatisticsProperties.getExecutionMode() == TickerStatisticsProperties.ExecutionMode.VIRTUAL_THREADS) {
+            return fetchFromApiOnVirtualThreads(chunks, priority);
+        }
+        Map<String, TickerStatistic> fetched = new LinkedHashMap<>();
+        for (List<String> chunk : chunks) {
+            fetched.putAll(fetchChunkFromApi(chunk, priority));
+        }
+        return fetched;
+    }
+
+    /**
+     * Fetches chunks in parallel, one virtual thread per chunk, bounded by max-concurrency.
+     * A single chunk also runs on its own virtual thread, so the deadline applies to every request.
+     * The executor is scoped to this call: every task has finished or been cancelled at the per-request
+     * deadline before the method returns, and chunks that did not finish in time are left out.
+     */
+    private Map<String, TickerStatistic> fetchFromApiOnVirtualThreads(List<List<String>> chunks, RequestPriority priority) {
+        Semaphore permits = new Semaphore(tickerStatisticsProperties.getMaxConcurrency());
+        List<Callable<Map<String, TickerStatistic>>> tasks = new ArrayList<>();
+        for (List<String> chunk : chunks) {
+            tasks.add(() -> {
+                permits.acquire();
+                try {
+                    return fetchChunkFromApi(chunk, priority);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        Map<String, TickerStatistic> fetched = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<String, TickerStatistic>>> futures = executor.invokeAll(
+                    tasks, tickerStatisticsProperties.getRequestDeadlineMs(), TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Map<String, TickerStatistic>> future = futures.get(i);
+                if (future.isCancelled()) {
+                    log.warn("Fetching {} from FMP API missed the {} ms request deadline.",
+                            chunks.get(i), tickerStatisticsProperties.getRequestDeadlineMs());
+                    continue;
+                }
+                try {
+                    fetched.putAll(future.get());
+                } catch (ExecutionException e) {
+                    log.error("Error fetching {} from FMP API: {}", chunks.get(i), e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Preserve interrupt status
+            log.error("Virtual-thread fan-out interrupted; returning {} tickers fetched so far.", fetched.size());
+        }
+        return fetched;
+    }
+
+    // One comma-separated FMP quote call for a chunk of at most batch-size tickers
+    private Map<String, TickerStatistic> fetchChunkFromApi(List<String> chunk, RequestPriority priority) {
+        log.info("Fetching {} from external API (FMP).", chunk);
+
+        // FMP's quote endpoint always answers with a JSON array, one element per known symbol
+        long startedAt = System.currentTimeMillis();
+        Optional<FmpTickerQuoteResponse[]> fmpResponseOptional = restImpl.executeGet(
                 "fmp", // Provider name
-                resourcePathVariables,
-                queryParams,
-                FmpTickerQuoteResponse.class // Expected response type
+                quotePathVariables(chunk),
+                new HashMap<>(), // No additional query parameters needed here, as API key is handled by RestImpl
+                FmpTickerQuoteResponse[].class, // Expected response type
+                priority
         );
+        tickerRefreshService.recordFetchDuration(System.currentTimeMillis() - startedAt);
 
         if (fmpResponseOptional.isPresent()) {
-            // Map the FMP-specific DTO to your internal TickerStatistic model
-            TickerStatistic fetched = tickerStatisticMapper.toTickerStatistic(fmpResponseOptional.get());
-            dbService.save(fetched);
-            redisCacheService.put(ticker, fetched, fmpProperties.getDbStalenessThresholdMinutes() * 60);
-            log.info("Successfully fetched {} from FMP, saved to DB, and cached.", ticker);
-            return Optional.of(fetched);
-        } else {
-            log.warn("Failed to fetch {} from FMP API. Data not available.", ticker);
-            return Optional.empty();
+            return matchToRequestedTickers(chunk, fmpResponseOptional.get());
+        }
+        log.warn("Failed to fetch {} from FMP API. Data not available.", chunk);
+        return Map.of();
+    }
+
+    // Reactive counterpart of fetchFromApi: chunks are fetched concurrently, bounded by max-concurrency
+    private Mono<Map<String, TickerStatistic>> fetchFromApiReactive(List<String> tickers) {
+        return Flux.fromIterable(chunk(tickers, fmpProperties.getBatchSize()))
+                .flatMap(chunk -> {
+                    log.info("Fetching {} from external API (FMP).", chunk);
+                    long startedAt = System.currentTimeMillis();
+                    return restImpl.executeGetReactive(
+                                    "fmp", // Provider name
+                                    quotePathVariables(chunk),
+                                    new HashMap<>(), // API key is handled by RestImpl
+                                    FmpTickerQuoteResponse[].class)
+                            .doFinally(signal -> tickerRefreshService.recordFetchDuration(System.currentTimeMillis() - startedAt))
+                            .map(fmpResponses -> matchToRequestedTickers(chunk, fmpResponses))
+                            .switchIfEmpty(Mono.fromSupplier(() -> {
+                                log.warn("Failed to fetch {} from FMP API. Data not available.", chunk);
+                                return Map.of();
+                            }));
+                }, tickerStatisticsProperties.getMaxConcurrency())
+                .collectList()
+                .map(chunkResults -> {
+                    Map<String, TickerStatistic> fetched = new LinkedHashMap<>();
+                    chunkResults.forEach(fetched::putAll);
+                    return fetched;
+                });
+    }
+
+    // Replaces {ticker} in the resource path with a comma-separated symbol list
+    private Map<String, String> quotePathVariables(List<String> chunk) {
+        Map<String, String> resourcePathVariables = new HashMap<>();
+        resourcePathVariables.put("ticker", String.join(",", chunk));
+        return resourcePathVariables;
+    }
+
+    // FMP echoes symbols in its own casing, so match them back to the requested tickers case-insensitively
+    private Map<String, TickerStatistic> matchToRequestedTickers(List<String> chunk, FmpTickerQuoteResponse[] fmpResponses) {
+        Map<String, String> requestedBySymbol = new HashMap<>();
+        chunk.forEach(ticker -> requestedBySymbol.put(ticker.toUpperCase(Locale.ROOT), ticker));
+
+        Map<String, TickerStatistic> matched = new LinkedHashMap<>();
+        for (TickerStatistic statistic : tickerStatisticMapper.toTickerStatistics(fmpResponses)) {
+            String requested = statistic.getSymbol() == null ? null
+                    : requestedBySymbol.get(statistic.getSymbol().toUpperCase(Locale.ROOT));
+            if (requested != null) {
+                matched.put(requested, statistic);
+            }
+        }
+        if (matched.size() < chunk.size()) {
+            log.warn("FMP API returned no data for some of {}.", chunk);
+        }
+        return matched;
+    }
+
+    private static List<List<String>> chunk(List<String> tickers, int size) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < tickers.size(); from += size) {
+            chunks.add(tickers.subList(from, Math.min(from + size, tickers.size())));
         }
+        return chunks;
     }
-}
\ No newline at end of file
+}
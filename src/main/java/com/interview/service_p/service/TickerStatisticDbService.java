@@ -4,12 +4,21 @@ package com.interview.service_p.service;
 import com.interview.service_p.model.TickerStatistic; // Updated import
 import com.interview.service_p.entity.TickerStatisticEntity; // Updated import
 import com.interview.service_p.repository.TickerStatisticRepository; // Updated import
+import com.interview.service_p.service.support.TierMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,9 +26,12 @@ public class TickerStatisticDbService { // Renamed class
 
     private static final Logger log = LoggerFactory.getLogger(TickerStatisticDbService.class); // Updated logger name
     private final TickerStatisticRepository tickerStatisticRepository; // Updated repository type
+    private final TierMetrics tierMetrics;
 
-    public TickerStatisticDbService(TickerStatisticRepository tickerStatisticRepository) { // Updated parameter type
+    public TickerStatisticDbService(TickerStatisticRepository tickerStatisticRepository, // Updated parameter type
+                                    MeterRegistry meterRegistry) {
         this.tickerStatisticRepository = tickerStatisticRepository;
+        this.tierMetrics = new TierMetrics("db", meterRegistry);
     }
 
     /**
@@ -34,15 +46,18 @@ public class TickerStatisticDbService { // Renamed class
             log.warn("Attempted to save a null or invalid TickerStatistic to DB.");
             return null;
         }
+        Timer.Sample sample = tierMetrics.start();
         try {
             // Convert TickerStatistic DTO to Entity
             TickerStatisticEntity entity = convertToEntity(statistic); // Updated entity type
             entity.setLastFetchedTime(LocalDateTime.now()); // Set current timestamp for DB record
 
             TickerStatisticEntity savedEntity = tickerStatisticRepository.save(entity); // Updated entity type
+            tierMetrics.stop(sample, "save", true);
             log.info("Saved/Updated symbol {} in DB. Last fetched: {}", savedEntity.getSymbol(), savedEntity.getLastFetchedTime());
             return convertToDto(savedEntity); // Updated DTO type
         } catch (Exception e) {
+            tierMetrics.stop(sample, "save", false);
             log.error("Error saving TickerStatistic for symbol {} to DB: {}", statistic.getSymbol(), e.getMessage(), e); // Updated log message
             return null;
         }
@@ -59,8 +74,10 @@ public class TickerStatisticDbService { // Renamed class
             log.warn("Attempted to find a null or blank symbol in DB.");
             return Optional.empty();
         }
+        Timer.Sample sample = tierMetrics.start();
         try {
             Optional<TickerStatisticEntity> entityOptional = tickerStatisticRepository.findBySymbol(symbol); // Updated entity type
+            tierMetrics.stop(sample, "find", true);
             if (entityOptional.isPresent()) {
                 log.debug("DB hit for symbol: {}", symbol);
                 return Optional.of(convertToDto(entityOptional.get())); // Updated DTO type
@@ -69,11 +86,98 @@ public class TickerStatisticDbService { // Renamed class
                 return Optional.empty();
             }
         } catch (Exception e) {
+            tierMetrics.stop(sample, "find", false);
             log.error("Error retrieving from DB for symbol {}: {}", symbol, e.getMessage(), e);
             return Optional.empty();
         }
     }
 
+    /**
+     * Saves or updates many TickerStatistics with a single bulk upsert.
+     * Every row gets the same lastFetchedTime.
+     *
+     * @param statistics The TickerStatistic objects to save.
+     * @return The number of rows written, or 0 if nothing could be saved.
+     */
+    @Transactional
+    public int saveAll(Collection<TickerStatistic> statistics) {
+        if (statistics == null || statistics.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<TickerStatisticEntity> entities = new ArrayList<>(statistics.size());
+        for (TickerStatistic statistic : statistics) {
+            if (statistic == null || statistic.getSymbol() == null || statistic.getSymbol().isBlank()) {
+                log.warn("Skipping a null or invalid TickerStatistic in bulk save.");
+                continue;
+            }
+            TickerStatisticEntity entity = convertToEntity(statistic);
+            entity.setLastFetchedTime(now);
+            entities.add(entity);
+        }
+        if (entities.isEmpty()) {
+            return 0;
+        }
+        Timer.Sample sample = tierMetrics.start();
+        try {
+            int written = tickerStatisticRepository.upsertAll(entities);
+            tierMetrics.stop(sample, "upsert_all", true);
+            log.info("Saved/Updated {} symbols in DB. Last fetched: {}", written, now);
+            return written;
+        } catch (Exception e) {
+            tierMetrics.stop(sample, "upsert_all", false);
+            log.error("Error bulk saving {} TickerStatistics to DB: {}", entities.size(), e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Finds the rows for many symbols with a single query.
+     * Entities are returned (rather than DTOs) so callers can check lastFetchedTime for staleness.
+     *
+     * @param symbols The ticker symbols.
+     * @return A map from symbol to entity containing only the symbols that were found.
+     */
+    public Map<String, TickerStatisticEntity> findAllBySymbols(Collection<String> symbols) {
+        Map<String, TickerStatisticEntity> found = new LinkedHashMap<>();
+        if (symbols == null || symbols.isEmpty()) {
+            return found;
+        }
+        Timer.Sample sample = tierMetrics.start();
+        try {
+            for (TickerStatisticEntity entity : tickerStatisticRepository.findAllBySymbolIn(symbols)) {
+                found.put(entity.getSymbol(), entity);
+            }
+            tierMetrics.stop(sample, "find_all", true);
+            log.debug("DB hit for {} of {} symbols.", found.size(), symbols.size());
+        } catch (Exception e) {
+            tierMetrics.stop(sample, "find_all", false);
+            log.error("Error retrieving from DB for symbols {}: {}", symbols, e.getMessage(), e);
+        }
+        return found;
+    }
+
+    /**
+     * Reads every stored symbol; used to build the in-memory universe snapshot.
+     *
+     * @return One TickerStatistic per row, with fetchedAt set from lastFetchedTime.
+     */
+    public List<TickerStatistic> findAll() {
+        Timer.Sample sample = tierMetrics.start();
+        try {
+            List<TickerStatisticEntity> entities = tickerStatisticRepository.findAll();
+            tierMetrics.stop(sample, "find_all_symbols", true);
+            List<TickerStatistic> statistics = new ArrayList<>(entities.size());
+            for (TickerStatisticEntity entity : entities) {
+                statistics.add(convertToDto(entity));
+            }
+            return statistics;
+        } catch (RuntimeException e) {
+            tierMetrics.stop(sample, "find_all_symbols", false);
+            throw e;
+        }
+    }
+
     // --- Helper methods for DTO-Entity conversion ---
     // Made public for use in StockDataService's staleness check
     public TickerStatisticEntity convertToEntity(TickerStatistic dto) { // Updated parameter type
@@ -86,13 +190,16 @@ public class TickerStatisticDbService { // Renamed class
         return entity;
     }
 
-    private TickerStatistic convertToDto(TickerStatisticEntity entity) { // Updated parameter and return type
+    public TickerStatistic convertToDto(TickerStatisticEntity entity) { // Updated parameter and return type
         TickerStatistic dto = new TickerStatistic(); // Updated DTO type
         dto.setSymbol(entity.getSymbol());
         dto.setPrice(entity.getPrice());
         dto.setVolume(entity.getVolume());
         dto.setPeRatio(entity.getPeRatio());
         dto.setLastUpdated(entity.getLastUpdatedApi());
+        if (entity.getLastFetchedTime() != null) {
+            dto.setFetchedAt(entity.getLastFetchedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
         return dto;
     }
 }
@@ -0,0 +1,83 @@
+// src/main/java/com/interview/service_p/service/TickerUniverseService.java
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.TickerUniverseProperties;
+import com.interview.service_p.model.TickerStatistic;
+import com.interview.service_p.service.support.ColumnarTickerSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+
+/**
+ * Holds a columnar snapshot of every symbol in ticker_statistics (see ColumnarTickerSnapshot).
+ * The snapshot is rebuilt from Postgres on startup and every reload interval, and updated from the
+ * fetch and refresh path in between. Each change publishes a new immutable snapshot through a volatile
+ * field: writers serialize on this service, readers never lock and always see a complete snapshot.
+ */
+@Service
+public class TickerUniverseService {
+
+    private static final Logger log = LoggerFactory.getLogger(TickerUniverseService.class);
+
+    private final TickerStatisticDbService dbService;
+    private final TickerUniverseProperties universeProperties;
+    private volatile ColumnarTickerSnapshot snapshot = ColumnarTickerSnapshot.EMPTY;
+
+    public TickerUniverseService(TickerStatisticDbService dbService,
+                                 TickerUniverseProperties universeProperties,
+                                 MeterRegistry meterRegistry) {
+        this.dbService = dbService;
+        this.universeProperties = universeProperties;
+        Gauge.builder("ticker.universe.symbols", this, service -> service.snapshot.size())
+                .description("Symbols in the in-memory columnar universe snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The current snapshot; it never changes, so a caller can scan it as long as it likes.
+     */
+    public ColumnarTickerSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Applies freshly fetched statistics to the snapshot.
+     * @param statistics The statistics just written to the DB.
+     */
+    public void update(Collection<TickerStatistic> statistics) {
+        if (!universeProperties.isEnabled() || statistics == null || statistics.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            snapshot = snapshot.withUpdates(statistics);
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from Postgres. Runs once right after startup, off the startup thread.
+     * Rows fetched after the DB read began are kept, since the later fetch wins per symbol.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.ticker.universe.reload-interval-ms:300000}")
+    public void reload() {
+        if (!universeProperties.isEnabled()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        ColumnarTickerSnapshot loaded;
+        try {
+            loaded = ColumnarTickerSnapshot.EMPTY.withUpdates(dbService.findAll());
+        } catch (Exception e) {
+            log.error("Error loading the ticker universe from DB: {}", e.getMessage(), e);
+            return;
+        }
+        synchronized (this) {
+            snapshot = loaded.mergedWith(snapshot);
+        }
+        log.info("Loaded {} symbols into the universe snapshot in {} ms.", loaded.size(), System.currentTimeMillis() - startedAt);
+    }
+}
@@ -1,18 +1,41 @@
 package com.interview.service_p.service;
+import com.interview.service_p.config.IdGeneratorProperties;
+import com.interview.service_p.service.support.IdGenerator;
+import com.interview.service_p.service.support.SnowflakeIdGenerator;
+import com.interview.service_p.service.support.UuidIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID; // Import UUID for generating unique IDs
-
 @Service
 public class UniqueIdGenService {
 
+    private static final Logger log = LoggerFactory.getLogger(UniqueIdGenService.class);
+
+    private final IdGenerator idGenerator;
+
+    public UniqueIdGenService(IdGeneratorProperties idGeneratorProperties) {
+        this.idGenerator = switch (idGeneratorProperties.getType()) {
+            case UUID -> new UuidIdGenerator();
+            case SNOWFLAKE -> {
+                // Validation already rejects SNOWFLAKE without a node ID; this guards direct construction
+                Integer nodeId = idGeneratorProperties.getNodeId();
+                if (nodeId == null) {
+                    throw new IllegalStateException("app.id-generator.node-id must be set to generate SNOWFLAKE IDs");
+                }
+                log.info("Generating time-ordered message IDs with node ID {}.", nodeId);
+                yield new SnowflakeIdGenerator(nodeId, idGeneratorProperties.getEpoch());
+            }
+        };
+    }
+
     /**
-     * Generates a universally unique identifier (UUID).
+     * Generates a unique identifier with the configured generator.
      * This ID can be used to uniquely identify Kafka messages or other entities.
      *
      * @return A unique string identifier.
      */
     public String generateUniqueId() {
-        return UUID.randomUUID().toString();
+        return idGenerator.nextId();
     }
 }
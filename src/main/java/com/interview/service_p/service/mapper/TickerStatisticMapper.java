@@ -6,6 +6,9 @@ import com.interview.service_p.model.TickerStatistic;
 import com.interview.service_p.model.fmp.FmpTickerQuoteResponse; // Import the external DTO
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class TickerStatisticMapper {
 
@@ -28,6 +31,25 @@ public class TickerStatisticMapper {
         return tickerStatistic;
     }
 
+    /**
+     * Transforms a batch quote response (one element per requested symbol) into internal models.
+     * @param fmpResponses The DTOs from a comma-separated FMP quote call; may be null.
+     * @return The internal TickerStatistic models, skipping null elements.
+     */
+    public List<TickerStatistic> toTickerStatistics(FmpTickerQuoteResponse[] fmpResponses) {
+        List<TickerStatistic> statistics = new ArrayList<>();
+        if (fmpResponses == null) {
+            return statistics;
+        }
+        for (FmpTickerQuoteResponse fmpResponse : fmpResponses) {
+            TickerStatistic statistic = toTickerStatistic(fmpResponse);
+            if (statistic != null) {
+                statistics.add(statistic);
+            }
+        }
+        return statistics;
+    }
+
     // If you had an internal model that needed to be transformed for an external API request,
     // you'd have a "translateOut" method here. Example:
     /*
@@ -0,0 +1,72 @@
+// src/main/java/com/interview/service_p/service/support/AimdConcurrencyLimiter.java
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.config.RestConfigProperties.ConcurrencyLimitProperties;
+
+/**
+ * Additive-increase / multiplicative-decrease limit on in-flight calls.
+ * Fast successes raise the limit by roughly one per limit's worth of calls; failures and slow calls
+ * multiply it by the backoff ratio, so the limit tracks what the upstream can currently absorb.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+
+    // Both guarded by this
+    private double limit;
+    private int inFlight = 0;
+
+    public AimdConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        this.limit = Math.max(properties.getMinLimit(), Math.min(properties.getInitialLimit(), properties.getMaxLimit()));
+    }
+
+    /**
+     * @return True if the call may proceed. Every permitted call must be followed by exactly one of
+     *         onSuccess, onFailure or onIgnored.
+     */
+    public synchronized boolean tryAcquire() {
+        if (!properties.isEnabled()) {
+            inFlight++;
+            return true;
+        }
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyMillis) {
+        // Only grow when the limit is actually being used, otherwise idle periods inflate it
+        boolean limitInUse = inFlight * 2 >= limit;
+        inFlight--;
+        if (latencyMillis > properties.getLatencyThresholdMs()) {
+            decrease();
+        } else if (limitInUse) {
+            limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized void onFailure() {
+        inFlight--;
+        decrease();
+    }
+
+    // The call was cancelled before it produced an outcome
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+    }
+}
@@ -0,0 +1,150 @@
+// src/main/java/com/interview/service_p/service/support/CircuitBreaker.java
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.config.RestConfigProperties.CircuitBreakerProperties;
+
+/**
+ * Count-based circuit breaker.
+ * CLOSED: calls pass; the last sliding-window-size outcomes are kept, and the breaker opens once
+ * at least minimum-calls have been seen and the failure rate reaches the threshold.
+ * OPEN: calls are rejected until open-duration-ms has passed.
+ * HALF_OPEN: a few trial calls pass; all succeeding closes the breaker, any failure reopens it.
+ * <p>
+ * Every state change starts a new generation, and a permit carries the generation that issued it.
+ * Outcomes of permits from an earlier generation are ignored, so a slow call admitted while CLOSED
+ * cannot count as a half-open trial, nor a slow trial call against the next CLOSED window.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Returned by tryAcquirePermission when the call must not proceed
+    public static final long NO_PERMISSION = -1;
+
+    private final CircuitBreakerProperties properties;
+    private final boolean[] outcomes; // true = failure; ring buffer over the sliding window
+
+    // All guarded by this
+    private State state = State.CLOSED;
+    private long generation = 0;
+    private int nextIndex = 0;
+    private int recordedCalls = 0;
+    private int failedCalls = 0;
+    private long openedAtMillis = 0;
+    private int halfOpenInFlight = 0;
+    private int halfOpenSucceeded = 0;
+
+    public CircuitBreaker(CircuitBreakerProperties properties) {
+        if (properties.getMinimumCalls() > properties.getSlidingWindowSize()) {
+            // The window could never hold enough outcomes, so the breaker would never open
+            throw new IllegalArgumentException("Circuit breaker minimum-calls (" + properties.getMinimumCalls()
+                    + ") exceeds sliding-window-size (" + properties.getSlidingWindowSize() + ")");
+        }
+        this.properties = properties;
+        this.outcomes = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    /**
+     * @return A permit if the call may proceed, or NO_PERMISSION. Every permit must be handed back to
+     *         exactly one of onSuccess, onFailure or onIgnored.
+     */
+    public synchronized long tryAcquirePermission() {
+        if (!properties.isEnabled()) {
+            return generation;
+        }
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAtMillis < properties.getOpenDurationMs()) {
+                return NO_PERMISSION;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenInFlight = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= properties.getHalfOpenPermittedCalls()) {
+                return NO_PERMISSION;
+            }
+            halfOpenInFlight++;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return; // Issued before the last state change
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+            if (++halfOpenSucceeded >= properties.getHalfOpenPermittedCalls()) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return; // Issued before the last state change
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recordedCalls >= properties.getMinimumCalls()
+                && failedCalls * 100 >= properties.getFailureRateThreshold() * recordedCalls) {
+            open();
+        }
+    }
+
+    // The call was cancelled before it produced an outcome
+    public synchronized void onIgnored(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        // Report an expired OPEN as HALF_OPEN so callers do not treat a recoverable provider as down
+        if (state == State.OPEN && System.currentTimeMillis() - openedAtMillis >= properties.getOpenDurationMs()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (state != State.CLOSED) {
+            return;
+        }
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[nextIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextIndex] = failure;
+        if (failure) {
+            failedCalls++;
+        }
+        nextIndex = (nextIndex + 1) % outcomes.length;
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAtMillis = System.currentTimeMillis();
+    }
+
+    private void close() {
+        transitionTo(State.CLOSED);
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+    }
+}
@@ -0,0 +1,206 @@
+// src/main/java/com/interview/service_p/service/support/ColumnarTickerSnapshot.java
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.model.TickerStatistic;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented view of the whole ticker universe.
+ * Each symbol is interned to a dense int index, and its values live at that index in primitive columns,
+ * so a scan over every symbol touches a few contiguous arrays instead of one object per symbol.
+ * <p>
+ * Updates never modify an instance: withUpdates copies the columns and returns a new snapshot, which the
+ * owner publishes through a volatile reference. Readers therefore see a consistent snapshot without locking.
+ */
+public final class ColumnarTickerSnapshot {
+
+    public static final ColumnarTickerSnapshot EMPTY = new ColumnarTickerSnapshot(
+            Map.of(), new String[0], new double[0], new double[0], new double[0], new String[0], new long[0]);
+
+    private final Map<String, Integer> indexBySymbol; // Never mutated once published
+    private final String[] symbols;
+    private final double[] prices;
+    private final double[] volumes;
+    private final double[] peRatios;
+    private final String[] lastUpdated; // The provider's timestamp, kept as the string it arrived as
+    private final long[] fetchedAt; // Epoch millis; 0 if unknown
+
+    private ColumnarTickerSnapshot(Map<String, Integer> indexBySymbol, String[] symbols, double[] prices, double[] volumes,
+                                   double[] peRatios, String[] lastUpdated, long[] fetchedAt) {
+        this.indexBySymbol = indexBySymbol;
+        this.symbols = symbols;
+        this.prices = prices;
+        this.volumes = volumes;
+        this.peRatios = peRatios;
+        this.lastUpdated = lastUpdated;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * @return The symbol's index in the columns, or -1 if the symbol is not in the snapshot.
+     */
+    public int indexOf(String symbol) {
+        Integer index = indexBySymbol.get(symbol);
+        return index != null ? index : -1;
+    }
+
+    public String symbol(int index) {
+        return symbols[index];
+    }
+
+    public double price(int index) {
+        return prices[index];
+    }
+
+    public double volume(int index) {
+        return volumes[index];
+    }
+
+    public double peRatio(int index) {
+        return peRatios[index];
+    }
+
+    public String lastUpdated(int index) {
+        return lastUpdated[index];
+    }
+
+    public long fetchedAt(int index) {
+        return fetchedAt[index];
+    }
+
+    /**
+     * Materializes one row; the only read that allocates.
+     */
+    public TickerStatistic toTickerStatistic(int index) {
+        TickerStatistic statistic = new TickerStatistic();
+        statistic.setSymbol(symbols[index]);
+        statistic.setPrice(prices[index]);
+        statistic.setVolume(volumes[index]);
+        statistic.setPeRatio(peRatios[index]);
+        statistic.setLastUpdated(lastUpdated[index]);
+        statistic.setFetchedAt(fetchedAt[index]);
+        return statistic;
+    }
+
+    /**
+     * Copies of the columns, for handing the whole universe to a caller that may keep or modify them.
+     */
+    public String[] symbols() {
+        return symbols.clone();
+    }
+
+    public double[] prices() {
+        return prices.clone();
+    }
+
+    public double[] volumes() {
+        return volumes.clone();
+    }
+
+    public double[] peRatios() {
+        return peRatios.clone();
+    }
+
+    public long[] fetchedAtMillis() {
+        return fetchedAt.clone();
+    }
+
+    /**
+     * Returns a new snapshot with the given statistics applied; this snapshot is left untouched.
+     * A statistic only replaces a row that was not fetched later than it, so an older write arriving
+     * late (e.g. a reload racing a refresh) never overwrites newer data.
+     */
+    public ColumnarTickerSnapshot withUpdates(Collection<TickerStatistic> statistics) {
+        Columns columns = new Columns(this, statistics.size());
+        for (TickerStatistic statistic : statistics) {
+            if (statistic != null && statistic.getSymbol() != null) {
+                columns.put(statistic.getSymbol(), statistic.getPrice(), statistic.getVolume(), statistic.getPeRatio(),
+                        statistic.getLastUpdated(), statistic.getFetchedAt());
+            }
+        }
+        return columns.build();
+    }
+
+    /**
+     * Returns a new snapshot holding every row of this one and of {@code other}, the later-fetched row winning per symbol.
+     */
+    public ColumnarTickerSnapshot mergedWith(ColumnarTickerSnapshot other) {
+        Columns columns = new Columns(this, other.size());
+        for (int i = 0; i < other.size(); i++) {
+            columns.put(other.symbols[i], other.prices[i], other.volumes[i], other.peRatios[i],
+                    other.lastUpdated[i], other.fetchedAt[i]);
+        }
+        return columns.build();
+    }
+
+    // Mutable copy of a snapshot's columns with room for new symbols; used only while building the next snapshot
+    private static final class Columns {
+
+        private Map<String, Integer> indexBySymbol;
+        private String[] symbols;
+        private double[] prices;
+        private double[] volumes;
+        private double[] peRatios;
+        private String[] lastUpdated;
+        private long[] fetchedAt;
+        private int size;
+        private boolean symbolsAdded;
+
+        Columns(ColumnarTickerSnapshot base, int maxNewSymbols) {
+            int capacity = base.size() + maxNewSymbols;
+            // Shared until the first new symbol; the base's map must stay unchanged for its readers
+            this.indexBySymbol = base.indexBySymbol;
+            this.symbols = Arrays.copyOf(base.symbols, capacity);
+            this.prices = Arrays.copyOf(base.prices, capacity);
+            this.volumes = Arrays.copyOf(base.volumes, capacity);
+            this.peRatios = Arrays.copyOf(base.peRatios, capacity);
+            this.lastUpdated = Arrays.copyOf(base.lastUpdated, capacity);
+            this.fetchedAt = Arrays.copyOf(base.fetchedAt, capacity);
+            this.size = base.size();
+        }
+
+        void put(String symbol, double price, double volume, double peRatio, String updated, long fetched) {
+            Integer existing = indexBySymbol.get(symbol);
+            int index;
+            if (existing == null) {
+                if (!symbolsAdded) {
+                    indexBySymbol = new HashMap<>(indexBySymbol);
+                    symbolsAdded = true;
+                }
+                index = size++;
+                indexBySymbol.put(symbol, index);
+                symbols[index] = symbol;
+            } else {
+                index = existing;
+                if (fetchedAt[index] > fetched) {
+                    return;
+                }
+            }
+            prices[index] = price;
+            volumes[index] = volume;
+            peRatios[index] = peRatio;
+            lastUpdated[index] = updated;
+            fetchedAt[index] = fetched;
+        }
+
+        ColumnarTickerSnapshot build() {
+            if (size < symbols.length) {
+                symbols = Arrays.copyOf(symbols, size);
+                prices = Arrays.copyOf(prices, size);
+                volumes = Arrays.copyOf(volumes, size);
+                peRatios = Arrays.copyOf(peRatios, size);
+                lastUpdated = Arrays.copyOf(lastUpdated, size);
+                fetchedAt = Arrays.copyOf(fetchedAt, size);
+            }
+            return new ColumnarTickerSnapshot(indexBySymbol, symbols, prices, volumes, peRatios, lastUpdated, fetchedAt);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// src/main/java/com/interview/service_p/service/support/CountMinSketch.java
+package com.interview.service_p.service.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free frequency estimator. Estimates never undercount; they overcount by at most
+ * a small fraction of the total count with high probability, in width x depth counters of memory.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Count-min sketch width and depth must be at least 1");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     * @param key The key to count.
+     * @return The key's estimated count, including this occurrence.
+     */
+    public long add(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(row * width + column(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The key's estimated count.
+     */
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(row * width + column(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter so that old traffic fades and recent popularity dominates.
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >> 1);
+        }
+    }
+
+    // Derives an independent-enough column per row from one hash (murmur3 finalizer over a row-specific seed)
+    private int column(int hash, int row) {
+        int h = hash ^ (row * 0x9E3779B9);
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, width);
+    }
+}
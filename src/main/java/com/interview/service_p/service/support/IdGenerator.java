@@ -0,0 +1,14 @@
+// src/main/java/com/interview/service_p/service/support/IdGenerator.java
+package com.interview.service_p.service.support;
+
+/**
+ * Produces identifiers for Kafka messages and other entities.
+ * Implementations must be safe to call from many threads at once.
+ */
+public interface IdGenerator {
+
+    /**
+     * @return A new identifier, never returned before by this generator.
+     */
+    String nextId();
+}
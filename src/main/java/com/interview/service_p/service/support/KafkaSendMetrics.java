@@ -0,0 +1,51 @@
+// src/main/java/com/interview/service_p/service/support/KafkaSendMetrics.java
+package com.interview.service_p.service.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Times Kafka sends from the send call to the broker acknowledgement, tagged by topic and result.
+ * Published as kafka.producer.send, with a histogram so latency percentiles can be aggregated across instances.
+ */
+public class KafkaSendMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaSendMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts a send and records its outcome once it completes.
+     *
+     * @param topic The topic the record is sent to.
+     * @param send Starts the send, e.g. {@code () -> kafkaTemplate.send(topic, key, value)}.
+     * @return The send's own future, for the caller to chain on as before.
+     */
+    public <T> CompletableFuture<T> record(String topic, Supplier<CompletableFuture<T>> send) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            // Serialization errors and a full producer buffer are thrown before a future exists
+            sample.stop(timer(topic, "failure"));
+            throw e;
+        }
+        future.whenComplete((result, ex) -> sample.stop(timer(topic, ex == null ? "success" : "failure")));
+        return future;
+    }
+
+    private Timer timer(String topic, String result) {
+        return Timer.builder("kafka.producer.send")
+                .description("Time from send to broker acknowledgement, by topic and result")
+                .tag("topic", topic)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/interview/service_p/service/support/RequestPriority.java
+package com.interview.service_p.service.support;
+
+/**
+ * Who an outbound call is made for. Decides how long a call may queue for a rate-limit token,
+ * and whether it may use the tokens held back for user-facing requests.
+ */
+public enum RequestPriority {
+    INTERACTIVE, // A user request is waiting on the result
+    BACKGROUND, // Refreshes and other work nobody is waiting on
+    REFRESH_AHEAD // Limited like BACKGROUND, but counted apart since these calls are charged to the refresh-ahead budget
+}
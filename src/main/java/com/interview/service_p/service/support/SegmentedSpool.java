@@ -0,0 +1,290 @@
+// src/main/java/com/interview/service_p/service/support/SegmentedSpool.java
+package com.interview.service_p.service.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, file-backed FIFO of byte records, stored in fixed-size memory-mapped segment files.
+ *
+ * Record layout: int length, int CRC32 of the payload, payload bytes. A length of 0 marks the end of the
+ * written data in a segment (new segments are zero-filled). The length is written last, so a record torn
+ * by a crash is never visible. Records are consumed with read/commit; the read position is checkpointed
+ * to a small file so a restart resumes where draining stopped, and fully consumed segments are deleted.
+ * At most maxSegments segments exist at once, which bounds the disk used.
+ *
+ * Writes land in the page cache as soon as append returns, so they survive a process crash;
+ * force() additionally flushes them to disk to survive a machine crash.
+ */
+public class SegmentedSpool {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedSpool.class);
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "spool.checkpoint";
+
+    /**
+     * A position in the spool: a segment sequence number and a byte offset within that segment.
+     */
+    public record Position(long segment, int offset) { }
+
+    /**
+     * A record read from the spool, and the position just past it.
+     */
+    public record Entry(byte[] payload, Position next) { }
+
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final int maxSegments;
+    private final TreeSet<Long> segments = new TreeSet<>();
+
+    // All guarded by this
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writeOffset;
+    private Position readPosition;
+    private long depth;
+    private long bytesPending;
+
+    public SegmentedSpool(Path directory, int segmentSizeBytes, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.maxSegments = maxSegments;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Appends a record.
+     * @param payload The record bytes.
+     * @return False if the spool is full (every segment is in use and the current one has no room).
+     * @throws IllegalArgumentException If the record can never fit in a segment.
+     */
+    public synchronized boolean append(byte[] payload) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSizeBytes - Integer.BYTES) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the spool segment size");
+        }
+        // Keep room for the zero length that terminates the segment
+        if (writeOffset + recordBytes > segmentSizeBytes - Integer.BYTES) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            openWriteSegment(writeSegment + 1, 0);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        writeBuffer.position(writeOffset + Integer.BYTES);
+        writeBuffer.putInt((int) crc.getValue());
+        writeBuffer.put(payload);
+        writeBuffer.putInt(writeOffset, payload.length); // Publishes the record
+        writeOffset += recordBytes;
+        depth++;
+        bytesPending += recordBytes;
+        return true;
+    }
+
+    /**
+     * Reads up to maxRecords records from the read position without consuming them.
+     * A record that fails its checksum ends its segment: the rest of that segment is skipped, or in the segment
+     * still being written, the data written so far.
+     */
+    public synchronized List<Entry> read(int maxRecords) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        scan(maxRecords, entries);
+        return entries;
+    }
+
+    // Walks valid records from the read position, collecting them into entries if it is not null
+    private int scan(int maxRecords, List<Entry> entries) throws IOException {
+        int count = 0;
+        long segment = readPosition.segment();
+        int offset = readPosition.offset();
+        CRC32 crc = new CRC32();
+        while (count < maxRecords) {
+            ByteBuffer buffer = segmentBuffer(segment);
+            int length = offset + HEADER_BYTES <= segmentSizeBytes ? buffer.getInt(offset) : 0;
+            if (length <= 0 || offset + HEADER_BYTES + length > segmentSizeBytes) {
+                if (length != 0) {
+                    log.error("Spool segment {} is corrupt at offset {}; skipping the rest of it.", segment, offset);
+                }
+                Long nextSegment = segments.higher(segment);
+                if (nextSegment == null) {
+                    break;
+                }
+                segment = nextSegment;
+                offset = 0;
+                if (count == 0) {
+                    // Nothing read yet, so the exhausted segment can be dropped right away
+                    commit(new Position(segment, 0), 0);
+                }
+                continue;
+            }
+            crc.reset();
+            crc.update(buffer.slice(offset + HEADER_BYTES, length));
+            if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                log.error("Spool record at segment {} offset {} failed its checksum; skipping the rest of the segment.", segment, offset);
+                if (segment != writeSegment) {
+                    offset = segmentSizeBytes;
+                    continue;
+                }
+                // No next segment to move on to: commit past the data written so far, or every read would stop
+                // here again. Records appended after this point stay readable
+                if (count == 0) {
+                    offset = writeOffset;
+                    commit(new Position(segment, offset), 0);
+                    continue;
+                }
+                break; // The next read starts at the corrupt record and commits past it
+            }
+            if (entries != null) {
+                byte[] payload = new byte[length];
+                buffer.get(offset + HEADER_BYTES, payload);
+                entries.add(new Entry(payload, new Position(segment, offset + HEADER_BYTES + length)));
+            }
+            offset += HEADER_BYTES + length;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Consumes every record before the given position and deletes segments that are fully consumed.
+     * @param position The position just past the last consumed record (Entry.next()).
+     * @param records How many records the position moves past.
+     */
+    public synchronized void commit(Position position, int records) throws IOException {
+        bytesPending -= bytesBetween(readPosition, position);
+        for (Long segment : new ArrayList<>(segments.headSet(position.segment()))) {
+            Files.deleteIfExists(segmentPath(segment));
+            segments.remove(segment);
+        }
+        readPosition = position;
+        depth = Math.max(0, depth - records);
+        writeCheckpoint();
+    }
+
+    // Flushes appended records to disk
+    public synchronized void force() {
+        writeBuffer.force();
+    }
+
+    public synchronized long depth() {
+        return depth;
+    }
+
+    public synchronized long bytesPending() {
+        return bytesPending;
+    }
+
+    // Restores segments and the read checkpoint, and counts the records still pending
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .forEach(name -> segments.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()))));
+        }
+        readPosition = readCheckpoint();
+        if (segments.isEmpty()) {
+            openWriteSegment(readPosition.segment(), 0);
+            return;
+        }
+        if (!segments.contains(readPosition.segment())) {
+            readPosition = new Position(segments.first(), 0);
+        }
+
+        long segment = segments.last();
+        openWriteSegment(segment, 0);
+        writeOffset = endOfData(writeBuffer);
+
+        // Set before scanning: the scan commits past exhausted segments, which adjusts both
+        depth = 0;
+        bytesPending = bytesBetween(readPosition, new Position(writeSegment, writeOffset));
+        depth = scan(Integer.MAX_VALUE, null);
+        if (depth > 0) {
+            log.warn("Recovered {} spooled records from {}.", depth, directory);
+        }
+    }
+
+    private int endOfData(ByteBuffer buffer) {
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segmentSizeBytes) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + HEADER_BYTES + length > segmentSizeBytes - Integer.BYTES) {
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private void openWriteSegment(long segment, int offset) throws IOException {
+        if (writeBuffer != null) {
+            writeBuffer.force();
+        }
+        try (FileChannel channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            writeBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSizeBytes);
+        }
+        segments.add(segment);
+        writeSegment = segment;
+        writeOffset = offset;
+    }
+
+    private ByteBuffer segmentBuffer(long segment) throws IOException {
+        if (segment == writeSegment) {
+            return writeBuffer.duplicate();
+        }
+        try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentSizeBytes);
+        }
+    }
+
+    // Approximate pending bytes between two positions; segments in between count as full
+    private long bytesBetween(Position from, Position to) {
+        if (from.segment() == to.segment()) {
+            return Math.max(0, to.offset() - from.offset());
+        }
+        long between = segments.subSet(from.segment(), false, to.segment(), false).size();
+        return (segmentSizeBytes - from.offset()) + between * segmentSizeBytes + to.offset();
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%020d%s", segment, SEGMENT_SUFFIX));
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    // Written to a temporary file and moved into place, so a crash never leaves a half-written checkpoint
+    private void writeCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        buffer.putLong(readPosition.segment()).putInt(readPosition.offset());
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temporary, buffer.array());
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,166 @@
+// src/main/java/com/interview/service_p/service/support/SingleFlight.java
+package com.interview.service_p.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key within this JVM.
+ * The first caller for a key runs the loader; every caller that arrives while that load is
+ * in flight waits on the same future instead of loading the key again.
+ *
+ * @param <K> The key type.
+ * @param <V> The loaded value type.
+ */
+public class SingleFlight<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlight.class);
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderLoads;
+    private final Counter coalescedLoads;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaderLoads = Counter.builder("single.flight.loads")
+                .description("Keys loaded, by whether this caller ran the load or joined one already in flight")
+                .tag("name", name)
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.coalescedLoads = Counter.builder("single.flight.loads")
+                .description("Keys loaded, by whether this caller ran the load or joined one already in flight")
+                .tag("name", name)
+                .tag("role", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the given keys, running the loader only for keys that no other caller is loading right now.
+     *
+     * @param keys The keys to load. Duplicates are loaded once.
+     * @param loader Loads a batch of keys; keys missing from its result are treated as not found.
+     * @return A map from key to value containing only the keys that were found.
+     */
+    public Map<K, V> loadAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+        register(keys, owned, joined);
+
+        Map<K, V> results = new LinkedHashMap<>();
+        if (!owned.isEmpty()) {
+            try {
+                Map<K, V> loaded = loader.apply(new ArrayList<>(owned.keySet()));
+                owned.forEach((key, future) -> {
+                    V value = loaded.get(key);
+                    future.complete(value);
+                    if (value != null) {
+                        results.put(key, value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                owned.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                // Only remove our own futures; a later caller may already have started a fresh load
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        joined.forEach((key, future) -> {
+            try {
+                V value = future.join();
+                if (value != null) {
+                    results.put(key, value);
+                }
+            } catch (CompletionException e) {
+                logFailedLoad(key, e);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Non-blocking variant of loadAll: no thread waits while loads are in flight.
+     * A failed load is logged and its keys are treated as not found.
+     *
+     * @param keys The keys to load. Duplicates are loaded once.
+     * @param loader Starts loading a batch of keys; keys missing from its result are treated as not found.
+     * @return A future of a map from key to value containing only the keys that were found.
+     */
+    public CompletableFuture<Map<K, V>> loadAllAsync(Collection<K> keys,
+                                                     Function<List<K>, CompletableFuture<Map<K, V>>> loader) {
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> joined = new LinkedHashMap<>();
+        register(keys, owned, joined);
+
+        if (!owned.isEmpty()) {
+            CompletableFuture<Map<K, V>> loading;
+            try {
+                loading = loader.apply(new ArrayList<>(owned.keySet()));
+            } catch (RuntimeException e) {
+                loading = CompletableFuture.failedFuture(e);
+            }
+            loading.whenComplete((loaded, ex) -> {
+                owned.forEach((key, future) -> {
+                    if (ex != null) {
+                        future.completeExceptionally(ex);
+                    } else {
+                        future.complete(loaded.get(key));
+                    }
+                });
+                owned.forEach(inFlight::remove);
+            });
+        }
+
+        Map<K, CompletableFuture<V>> all = new LinkedHashMap<>(owned);
+        all.putAll(joined);
+        return CompletableFuture.allOf(all.values().stream()
+                        .map(future -> future.exceptionally(e -> null))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> results = new LinkedHashMap<>();
+                    all.forEach((key, future) -> {
+                        try {
+                            V value = future.join();
+                            if (value != null) {
+                                results.put(key, value);
+                            }
+                        } catch (CompletionException e) {
+                            logFailedLoad(key, e);
+                        }
+                    });
+                    return results;
+                });
+    }
+
+    // Claims every key nobody is loading yet; keys already in flight are joined instead
+    private void register(Collection<K> keys, Map<K, CompletableFuture<V>> owned, Map<K, CompletableFuture<V>> joined) {
+        for (K key : new LinkedHashSet<>(keys)) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) {
+                owned.put(key, mine);
+            } else {
+                joined.put(key, existing);
+            }
+        }
+        leaderLoads.increment(owned.size());
+        coalescedLoads.increment(joined.size());
+    }
+
+    private void logFailedLoad(K key, CompletionException e) {
+        log.warn("Load for key {} failed: {}", key, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+    }
+}
@@ -0,0 +1,86 @@
+// src/main/java/com/interview/service_p/service/support/SnowflakeIdGenerator.java
+package com.interview.service_p.service.support;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, time-ordered 64-bit IDs in the Snowflake layout:
+ * 41 bits of milliseconds since a custom epoch, 10 bits of node ID and a 12-bit per-millisecond sequence.
+ * <p>
+ * IDs from one generator are strictly increasing. When the sequence of a millisecond is exhausted, or the
+ * clock steps backwards, the generator keeps counting on from the last timestamp it issued instead of
+ * blocking; it catches up with the clock as soon as the clock moves past that timestamp.
+ * <p>
+ * IDs are rendered as 13 Crockford base32 characters, so their string order is their numeric (time) order.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    public static final int NODE_ID_BITS = 10;
+    public static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int TIMESTAMP_SHIFT = NODE_ID_BITS + SEQUENCE_BITS;
+    private static final long MAX_TIMESTAMP = (1L << (Long.SIZE - 1 - TIMESTAMP_SHIFT)) - 1;
+
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13; // ceil(64 / 5)
+
+    private final long epochMillis;
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // Last issued (timestamp << SEQUENCE_BITS | sequence); a sequence overflow carries into the timestamp
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, Instant epoch) {
+        this(nodeId, epoch, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, Instant epoch, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        if (epoch.toEpochMilli() > clock.getAsLong()) {
+            throw new IllegalArgumentException("Epoch " + epoch + " is in the future");
+        }
+        this.epochMillis = epoch.toEpochMilli();
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLongId());
+    }
+
+    /**
+     * @return The next ID as a positive long.
+     */
+    public long nextLongId() {
+        long now = (clock.getAsLong() - epochMillis) << SEQUENCE_BITS;
+        long next = lastTimestampAndSequence.updateAndGet(last -> now > last ? now : last + 1);
+        long timestamp = next >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Snowflake timestamp overflow; choose a later epoch");
+        }
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << TIMESTAMP_SHIFT) | nodeBits | sequence;
+    }
+
+    /**
+     * @return The creation time encoded in an ID produced by this generator.
+     */
+    public Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + epochMillis);
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
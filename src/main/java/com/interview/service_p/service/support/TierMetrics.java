@@ -0,0 +1,39 @@
+// src/main/java/com/interview/service_p/service/support/TierMetrics.java
+package com.interview.service_p.service.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Latency of one storage tier of the ticker read path (Redis, DB), published as ticker.tier.latency
+ * tagged by tier, operation and outcome, with a histogram so percentiles can be aggregated across instances.
+ */
+public class TierMetrics {
+
+    private final String tier;
+    private final MeterRegistry meterRegistry;
+
+    public TierMetrics(String tier, MeterRegistry meterRegistry) {
+        this.tier = tier;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param sample The sample returned by start() when the operation began.
+     * @param operation A fixed operation name, e.g. "mget"; never a key or symbol.
+     * @param success Whether the operation completed without an error.
+     */
+    public void stop(Timer.Sample sample, String operation, boolean success) {
+        sample.stop(Timer.builder("ticker.tier.latency")
+                .description("Latency of ticker read-path tiers, by tier, operation and outcome")
+                .tag("tier", tier)
+                .tag("operation", operation)
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
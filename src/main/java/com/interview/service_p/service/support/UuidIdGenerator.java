@@ -0,0 +1,16 @@
+// src/main/java/com/interview/service_p/service/support/UuidIdGenerator.java
+package com.interview.service_p.service.support;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs. Needs no coordination between nodes, but draws on SecureRandom for
+ * every ID and yields keys with no ordering.
+ */
+public class UuidIdGenerator implements IdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
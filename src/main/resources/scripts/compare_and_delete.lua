@@ -0,0 +1,6 @@
+-- Deletes KEYS[1] only if it still holds ARGV[1], so a caller never removes a key another caller has since claimed.
+-- Returns 1 if the key was deleted, otherwise 0.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,27 @@
+-- Token bucket shared by every replica. Refills continuously at ARGV[1] tokens per second up to ARGV[2] tokens.
+-- A caller takes one token only if at least ARGV[3] tokens remain afterwards, which lets background callers
+-- leave a reserve for interactive ones. Redis server time is used so replica clock skew does not matter.
+-- Returns 0 when a token was taken, otherwise the milliseconds until one will be available to this caller.
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local reserve = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1]) or capacity
+local ts = tonumber(state[2]) or now
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+local wait = 0
+if tokens >= reserve + 1 then
+    tokens = tokens - 1
+else
+    wait = math.ceil((reserve + 1 - tokens) * 1000 / rate)
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- An idle bucket is full again after capacity / rate seconds, so there is no need to keep it longer
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+return wait
@@ -0,0 +1,118 @@
+package com.interview.service_p.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.model.TickerStatistic;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickerStatisticRedisSerializerTests {
+
+    private final Jackson2JsonRedisSerializer<TickerStatistic> jsonSerializer = new Jackson2JsonRedisSerializer<>(
+            new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), TickerStatistic.class);
+    private final TickerStatisticRedisSerializer binary = new TickerStatisticRedisSerializer(jsonSerializer, true);
+
+    @Test
+    void roundTripsEveryFieldInTheBinaryFormat() {
+        TickerStatistic statistic = statistic("AAPL", "1718000000");
+        statistic.setStale(true);
+
+        byte[] bytes = binary.serialize(statistic);
+
+        assertThat(bytes[0]).isEqualTo(TickerStatisticRedisSerializer.VERSION_1);
+        assertThat(binary.deserialize(bytes)).usingRecursiveComparison().isEqualTo(statistic);
+    }
+
+    @Test
+    void keepsNanRatiosForUnprofitableCompanies() {
+        TickerStatistic statistic = statistic("RIVN", "1718000000");
+        statistic.setPeRatio(Double.NaN);
+
+        assertThat(binary.deserialize(binary.serialize(statistic)).getPeRatio()).isNaN();
+    }
+
+    @Test
+    void roundTripsLastUpdatedThatIsNotACanonicalNumber() {
+        for (String lastUpdated : new String[] {"2024-06-10T12:00:00Z", "0123", "-5", "0", "12345678901234567890", ""}) {
+            TickerStatistic statistic = statistic("MSFT", lastUpdated);
+
+            assertThat(binary.deserialize(binary.serialize(statistic)))
+                    .as(lastUpdated)
+                    .usingRecursiveComparison().isEqualTo(statistic);
+        }
+    }
+
+    @Test
+    void roundTripsAbsentOptionalFields() {
+        TickerStatistic statistic = statistic(null, null);
+        statistic.setFetchedAt(0);
+
+        assertThat(binary.deserialize(binary.serialize(statistic))).usingRecursiveComparison().isEqualTo(statistic);
+    }
+
+    @Test
+    void readsJsonValuesWrittenBeforeTheBinaryFormat() {
+        byte[] legacy = "{\"symbol\":\"GOOG\",\"price\":170.5,\"volume\":2.0E7,\"peRatio\":25.1,\"lastUpdated\":\"1718000000\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        TickerStatistic statistic = binary.deserialize(legacy);
+
+        assertThat(statistic.getSymbol()).isEqualTo("GOOG");
+        assertThat(statistic.getPrice()).isEqualTo(170.5);
+        assertThat(statistic.getLastUpdated()).isEqualTo("1718000000");
+        assertThat(statistic.getFetchedAt()).isZero(); // Unknown for legacy values
+    }
+
+    @Test
+    void writesJsonWhenBinaryIsDisabled() {
+        TickerStatisticRedisSerializer json = new TickerStatisticRedisSerializer(jsonSerializer, false);
+        TickerStatistic statistic = statistic("NVDA", "1718000000");
+
+        byte[] bytes = json.serialize(statistic);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(bytes).isEqualTo(jsonSerializer.serialize(statistic));
+        // Either format is readable whatever this node writes
+        assertThat(json.deserialize(binary.serialize(statistic))).usingRecursiveComparison().isEqualTo(statistic);
+    }
+
+    @Test
+    void binaryValueIsSmallerThanJson() {
+        TickerStatistic statistic = statistic("AAPL", "1718000000");
+
+        assertThat(binary.serialize(statistic).length).isLessThan(jsonSerializer.serialize(statistic).length);
+    }
+
+    @Test
+    void truncatedBinaryValueFailsWithSerializationException() {
+        byte[] bytes = binary.serialize(statistic("AAPL", "1718000000"));
+
+        assertThatThrownBy(() -> binary.deserialize(Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void nullAndEmptyValuesAreNull() {
+        assertThat(binary.serialize(null)).isNull();
+        assertThat(binary.deserialize(null)).isNull();
+        assertThat(binary.deserialize(new byte[0])).isNull();
+    }
+
+    private static TickerStatistic statistic(String symbol, String lastUpdated) {
+        TickerStatistic statistic = new TickerStatistic();
+        statistic.setSymbol(symbol);
+        statistic.setPrice(189.25);
+        statistic.setVolume(51_234_567);
+        statistic.setPeRatio(31.7);
+        statistic.setLastUpdated(lastUpdated);
+        statistic.setFetchedAt(1_718_000_123_456L);
+        return statistic;
+    }
+}
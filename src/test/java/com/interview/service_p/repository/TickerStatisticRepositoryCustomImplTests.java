@@ -0,0 +1,77 @@
+package com.interview.service_p.repository;
+
+import com.interview.service_p.entity.TickerStatisticEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TickerStatisticRepositoryCustomImplTests {
+
+    private static final LocalDateTime FETCHED = LocalDateTime.of(2024, 6, 10, 12, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TickerStatisticRepositoryCustomImpl repository = new TickerStatisticRepositoryCustomImpl(jdbcTemplate);
+
+    @Test
+    void splitsLargeUpsertsIntoStatementsOfAtMostAThousandRows() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(call -> rowsIn(call.getArgument(0)));
+        List<TickerStatisticEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            entities.add(entity("SYM" + i, i));
+        }
+
+        int written = repository.upsertAll(entities);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(3)).update(sql.capture(), args.capture());
+        assertThat(sql.getAllValues()).extracting(TickerStatisticRepositoryCustomImplTests::rowsIn)
+                .containsExactly(1_000, 1_000, 500);
+        assertThat(args.getAllValues()).extracting(values -> values.length).containsExactly(6_000, 6_000, 3_000);
+        assertThat(args.getAllValues().get(2)[0]).isEqualTo("SYM2000"); // Rows keep their order across chunks
+        assertThat(sql.getValue()).startsWith("INSERT INTO ticker_statistics").contains("ON CONFLICT (symbol) DO UPDATE");
+        assertThat(written).isEqualTo(2_500);
+    }
+
+    @Test
+    void collapsesDuplicateSymbolsKeepingTheLastValue() {
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(2);
+
+        repository.upsertAll(List.of(entity("AAPL", 150), entity("MSFT", 420), entity("AAPL", 191)));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+        assertThat(rowsIn(sql.getValue())).isEqualTo(2);
+        assertThat(args.getValue()).containsSequence("AAPL", 191.0);
+        assertThat(args.getValue()).doesNotContain(150.0);
+    }
+
+    @Test
+    void emptyInputIssuesNoStatement() {
+        assertThat(repository.upsertAll(List.of())).isZero();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    private static int rowsIn(String sql) {
+        return sql.split("\\(\\?, \\?, \\?, \\?, \\?, \\?\\)", -1).length - 1;
+    }
+
+    private static TickerStatisticEntity entity(String symbol, double price) {
+        return new TickerStatisticEntity(symbol, price, 1_000_000, 30, "1718000000", FETCHED);
+    }
+}
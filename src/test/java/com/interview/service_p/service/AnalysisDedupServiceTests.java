@@ -0,0 +1,93 @@
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.AnalysisDedupProperties;
+import com.interview.service_p.model.kafka.TickerDetail;
+import com.interview.service_p.model.kafka.TickerQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AnalysisDedupServiceTests {
+
+    private final AnalysisDedupProperties properties = new AnalysisDedupProperties();
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> values = mock(ValueOperations.class);
+    private AnalysisDedupService dedupService;
+
+    @BeforeEach
+    void setUp() {
+        when(redis.opsForValue()).thenReturn(values);
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        properties.setClaimWaitMs(200);
+        dedupService = new AnalysisDedupService(properties, redis, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void duplicateGetsTheOriginalsMessageId() {
+        AnalysisDedupService.Claim original = dedupService.claim(request(" aapl ", "User@Example.com"), "message-1");
+        AnalysisDedupService.Claim duplicate = dedupService.claim(request("AAPL", "user@example.com"), "message-2");
+
+        assertThat(original.isOwner()).isTrue();
+        assertThat(duplicate.isOwner()).isFalse();
+        assertThat(duplicate.messageId()).isEqualTo("message-1");
+    }
+
+    @Test
+    void duplicateWaitsOnlyBrieflyForAnUnsettledRedisClaim() throws Exception {
+        CountDownLatch claiming = new CountDownLatch(1);
+        CountDownLatch redisAnswers = new CountDownLatch(1);
+        when(values.setIfAbsent(anyString(), eq("message-1"), any(Duration.class))).thenAnswer(call -> {
+            claiming.countDown();
+            redisAnswers.await(5, TimeUnit.SECONDS); // A slow Redis round trip
+            return true;
+        });
+        CompletableFuture<AnalysisDedupService.Claim> original =
+                CompletableFuture.supplyAsync(() -> dedupService.claim(request("AAPL", "user@example.com"), "message-1"));
+        assertThat(claiming.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long startedAt = System.nanoTime();
+        String messageId = dedupService.claim(request("AAPL", "user@example.com"), "message-2").messageId();
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        redisAnswers.countDown();
+
+        assertThat(messageId).isEqualTo("message-1"); // The original's local ID
+        assertThat(waitedMs).isBetween(150L, 2_000L);
+        assertThat(original.get(5, TimeUnit.SECONDS).isOwner()).isTrue();
+    }
+
+    @Test
+    void releasedClaimLetsTheRetryThroughAndFailsWaitingDuplicates() {
+        AnalysisDedupService.Claim original = dedupService.claim(request("AAPL", "user@example.com"), "message-1");
+        CompletableFuture<String> duplicateDelivery = dedupService.claim(request("AAPL", "user@example.com"), "message-2").delivered();
+
+        dedupService.release(original, new IllegalStateException("parked in the DLT"));
+
+        assertThat(duplicateDelivery).isCompletedExceptionally();
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(values).setIfAbsent(key.capture(), eq("message-1"), any(Duration.class));
+        verify(redis).execute(any(), eq(List.of(key.getValue())), eq("message-1")); // Compare-and-delete of its own value
+        assertThat(dedupService.claim(request("AAPL", "user@example.com"), "message-3").isOwner()).isTrue();
+    }
+
+    private static TickerDetail request(String ticker, String email) {
+        return new TickerDetail(List.of(new TickerQuery(ticker, "price outlook")), email);
+    }
+}
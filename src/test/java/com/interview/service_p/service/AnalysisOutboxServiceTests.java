@@ -0,0 +1,140 @@
+package com.interview.service_p.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.config.KafkaProducerProperties;
+import com.interview.service_p.entity.AnalysisOutboxEntity;
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import com.interview.service_p.repository.AnalysisOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AnalysisOutboxServiceTests {
+
+    private static final String TOPIC = "ticker-analysis";
+
+    private final AnalysisOutboxRepository outboxRepository = mock(AnalysisOutboxRepository.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, TickerDetailPayload> kafkaTemplate = mock(KafkaTemplate.class);
+    private final KafkaProducerProperties properties = new KafkaProducerProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AnalysisOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(call -> call.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        doAnswer(call -> {
+            call.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        properties.setDeliveryMode(KafkaProducerProperties.DeliveryMode.OUTBOX);
+        properties.getOutbox().setBatchSize(2);
+        properties.getOutbox().setSendTimeoutMs(1_000);
+        outboxService = new AnalysisOutboxService(outboxRepository, kafkaTemplate, properties, objectMapper,
+                transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void publishesClaimedRowsAndMarksThemPublishedUntilDrained() throws Exception {
+        when(outboxRepository.claimUnpublished(2))
+                .thenReturn(List.of(row(1, "message-1"), row(2, "message-2")))
+                .thenReturn(List.of(row(3, "message-3")));
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(acked());
+
+        outboxService.relay();
+
+        verify(kafkaTemplate).send(eq(TOPIC), eq("message-1"), eq(payload("message-1")));
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository).markPublished(eq(List.of(3L)), any());
+        verify(outboxRepository, times(2)).claimUnpublished(anyInt()); // A short batch means the outbox is drained
+    }
+
+    @Test
+    void unacknowledgedRowsStayClaimableAndEndThePoll() throws Exception {
+        when(outboxRepository.claimUnpublished(2)).thenReturn(List.of(row(1, "message-1"), row(2, "message-2")));
+        when(kafkaTemplate.send(TOPIC, "message-1", payload("message-1"))).thenReturn(acked());
+        when(kafkaTemplate.send(TOPIC, "message-2", payload("message-2")))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        outboxService.relay();
+
+        verify(outboxRepository).markPublished(eq(List.of(1L)), any());
+        verify(outboxRepository, times(1)).claimUnpublished(anyInt());
+    }
+
+    @Test
+    void unreadablePayloadIsMarkedFailedWithoutBlockingTheBatch() throws Exception {
+        AnalysisOutboxEntity unreadable = row(1, "message-1");
+        unreadable.setPayload("not json");
+        when(outboxRepository.claimUnpublished(2))
+                .thenReturn(List.of(unreadable, row(2, "message-2")))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(acked());
+
+        outboxService.relay();
+
+        verify(outboxRepository).markFailed(eq(1L), any(), startsWith("Unreadable payload"));
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any()); // Only the readable row is sent
+        verify(outboxRepository).markPublished(eq(List.of(2L)), any());
+        verify(outboxRepository, times(2)).claimUnpublished(anyInt()); // Every row was settled, so the relay goes on
+    }
+
+    @Test
+    void relayIsIdleInDirectMode() {
+        properties.setDeliveryMode(KafkaProducerProperties.DeliveryMode.DIRECT);
+
+        outboxService.relay();
+
+        verifyNoInteractions(outboxRepository, kafkaTemplate);
+    }
+
+    @Test
+    void enqueueAllStoresEveryPayloadInOneInsert() {
+        outboxService.enqueueAll(TOPIC, List.of(payload("message-1"), payload("message-2")));
+
+        ArgumentCaptor<List<AnalysisOutboxEntity>> rows = ArgumentCaptor.captor();
+        verify(outboxRepository).insertAll(rows.capture());
+        assertThat(rows.getValue()).extracting(AnalysisOutboxEntity::getMessageId).containsExactly("message-1", "message-2");
+        assertThat(rows.getValue()).extracting(AnalysisOutboxEntity::getTopic).containsOnly(TOPIC);
+    }
+
+    private AnalysisOutboxEntity row(long id, String messageId) throws Exception {
+        AnalysisOutboxEntity row = new AnalysisOutboxEntity(messageId, TOPIC,
+                objectMapper.writeValueAsString(payload(messageId)), LocalDateTime.now());
+        row.setId(id);
+        return row;
+    }
+
+    private static TickerDetailPayload payload(String messageId) {
+        return new TickerDetailPayload(messageId, List.of(), "user@example.com");
+    }
+
+    private static CompletableFuture<SendResult<String, TickerDetailPayload>> acked() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
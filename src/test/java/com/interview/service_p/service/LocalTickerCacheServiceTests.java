@@ -0,0 +1,96 @@
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.NearCacheProperties;
+import com.interview.service_p.model.TickerStatistic;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LocalTickerCacheServiceTests {
+
+    private final NearCacheProperties properties = new NearCacheProperties();
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final LocalTickerCacheService nodeA = new LocalTickerCacheService(properties, redis, new SimpleMeterRegistry());
+    private final LocalTickerCacheService nodeB = new LocalTickerCacheService(properties, redis, new SimpleMeterRegistry());
+
+    @Test
+    void invalidationFromAnotherNodeDropsTheLocalCopies() {
+        nodeB.put("AAPL", statistic("AAPL", 190));
+        nodeB.put("MSFT", statistic("MSFT", 420));
+        nodeB.put("GOOG", statistic("GOOG", 170));
+
+        deliver(publishedBy(nodeA, List.of("AAPL", "MSFT")), nodeB);
+
+        assertThat(nodeB.get("AAPL")).isEmpty();
+        assertThat(nodeB.get("MSFT")).isEmpty();
+        assertThat(nodeB.get("GOOG")).isPresent();
+    }
+
+    @Test
+    void nodeIgnoresItsOwnInvalidation() {
+        nodeA.put("AAPL", statistic("AAPL", 191)); // Written locally before publishing
+
+        deliver(publishedBy(nodeA, List.of("AAPL")), nodeA);
+
+        assertThat(nodeA.get("AAPL")).hasValueSatisfying(statistic -> assertThat(statistic.getPrice()).isEqualTo(191));
+    }
+
+    @Test
+    void malformedMessageIsIgnored() {
+        nodeB.put("AAPL", statistic("AAPL", 190));
+
+        deliver("AAPL", nodeB);
+
+        assertThat(nodeB.get("AAPL")).isPresent();
+    }
+
+    @Test
+    void publishFailureDoesNotPropagate() {
+        doThrow(new IllegalStateException("Redis down")).when(redis).convertAndSend(anyString(), anyString());
+
+        nodeA.publishInvalidation(List.of("AAPL"));
+    }
+
+    @Test
+    void disabledCacheNeitherStoresNorPublishes() {
+        properties.setEnabled(false);
+
+        nodeA.put("AAPL", statistic("AAPL", 190));
+        nodeA.publishInvalidation(List.of("AAPL"));
+
+        assertThat(nodeA.get("AAPL")).isEmpty();
+        verify(redis, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private String publishedBy(LocalTickerCacheService node, List<String> symbols) {
+        node.publishInvalidation(symbols);
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(properties.getInvalidationChannel()), message.capture());
+        return message.getValue();
+    }
+
+    private static void deliver(String body, LocalTickerCacheService node) {
+        node.onMessage(new DefaultMessage("ticker-cache-invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static TickerStatistic statistic(String symbol, double price) {
+        TickerStatistic statistic = new TickerStatistic();
+        statistic.setSymbol(symbol);
+        statistic.setPrice(price);
+        return statistic;
+    }
+}
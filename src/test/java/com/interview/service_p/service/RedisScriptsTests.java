@@ -0,0 +1,125 @@
+package com.interview.service_p.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the Lua scripts against a real Redis in a container; skipped when Docker is not available.
+ */
+class RedisScriptsTests {
+
+    private static final RedisScript<Long> TOKEN_BUCKET =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), Long.class);
+    private static final RedisScript<Long> COMPARE_AND_DELETE =
+            RedisScript.of(new ClassPathResource("scripts/compare_and_delete.lua"), Long.class);
+
+    private static GenericContainer<?> redis;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate template;
+
+    @BeforeAll
+    static void startRedis() {
+        assumeTrue(DockerClientFactory.instance().isDockerAvailable(), "Docker is not available");
+        redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+        redis.start();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @BeforeEach
+    void flush() {
+        template.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void tokenBucketAllowsTheBurstThenReportsTheWait() {
+        // 1 token per second, burst of 3
+        for (int i = 0; i < 3; i++) {
+            assertThat(takeToken("fmp", 1, 3, 0)).isZero();
+        }
+
+        long waitMs = takeToken("fmp", 1, 3, 0);
+
+        assertThat(waitMs).isBetween(1L, 1_000L);
+    }
+
+    @Test
+    void tokenBucketKeepsTheReserveForInteractiveCallers() {
+        assertThat(takeToken("fmp", 1, 3, 2)).isZero(); // Background caller: 2 tokens left
+        assertThat(takeToken("fmp", 1, 3, 2)).isPositive(); // Would dip into the reserve
+        assertThat(takeToken("fmp", 1, 3, 0)).isZero(); // Interactive callers may use it
+        assertThat(takeToken("fmp", 1, 3, 0)).isZero();
+        assertThat(takeToken("fmp", 1, 3, 0)).isPositive();
+    }
+
+    @Test
+    void tokenBucketRefillsOverTime() throws InterruptedException {
+        for (int i = 0; i < 2; i++) {
+            takeToken("fmp", 20, 2, 0);
+        }
+        assertThat(takeToken("fmp", 20, 2, 0)).isPositive();
+
+        Thread.sleep(150); // 20 tokens per second: at least one token back
+
+        assertThat(takeToken("fmp", 20, 2, 0)).isZero();
+    }
+
+    @Test
+    void tokenBucketExpiresWhenIdle() {
+        takeToken("fmp", 10, 5, 0);
+
+        Long ttlMs = template.getExpire("rate-limit:fmp", TimeUnit.MILLISECONDS);
+
+        assertThat(ttlMs).isBetween(1L, 1_500L); // capacity / rate seconds plus one second of slack
+    }
+
+    @Test
+    void compareAndDeleteOnlyRemovesTheCallersOwnValue() {
+        template.opsForValue().set("analysis-dedup:abc", "message-2");
+
+        assertThat(template.execute(COMPARE_AND_DELETE, List.of("analysis-dedup:abc"), "message-1")).isZero();
+        assertThat(template.opsForValue().get("analysis-dedup:abc")).isEqualTo("message-2");
+
+        assertThat(template.execute(COMPARE_AND_DELETE, List.of("analysis-dedup:abc"), "message-2")).isEqualTo(1L);
+        assertThat(template.hasKey("analysis-dedup:abc")).isFalse();
+
+        assertThat(template.execute(COMPARE_AND_DELETE, List.of("analysis-dedup:missing"), "message-1")).isZero();
+    }
+
+    private static long takeToken(String provider, double permitsPerSecond, int burstCapacity, double reserve) {
+        return template.execute(TOKEN_BUCKET, List.of("rate-limit:" + provider),
+                String.valueOf(permitsPerSecond), String.valueOf(burstCapacity), String.valueOf(reserve));
+    }
+}
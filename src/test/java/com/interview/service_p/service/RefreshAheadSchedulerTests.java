@@ -0,0 +1,79 @@
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.RefreshAheadProperties;
+import com.interview.service_p.config.RestConfigProperties;
+import com.interview.service_p.config.RestConfigProperties.ApiProviderProperties;
+import com.interview.service_p.service.support.RequestPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshAheadSchedulerTests {
+
+    private final RefreshAheadProperties properties = new RefreshAheadProperties();
+    private final SymbolPopularityTracker popularity = new SymbolPopularityTracker(properties);
+    private final RedisTickerCacheService redisCache = mock(RedisTickerCacheService.class);
+    private final TickerService tickerService = mock(TickerService.class);
+    private final RestImpl restImpl = mock(RestImpl.class);
+    private final Map<RequestPriority, Long> issued = new EnumMap<>(RequestPriority.class);
+    private RefreshAheadScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setIntervalMs(60_000);
+        properties.setDailyCallBudget(TimeUnit.DAYS.toMinutes(1) * 10); // 10 calls per tick
+        ApiProviderProperties fmp = new ApiProviderProperties();
+        fmp.setBatchSize(2);
+        RestConfigProperties restConfig = new RestConfigProperties();
+        restConfig.setProviders(Map.of("fmp", fmp));
+        scheduler = new RefreshAheadScheduler(properties, popularity, redisCache, tickerService, restImpl, restConfig);
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            issued.put(priority, 0L);
+        }
+        when(restImpl.issuedCalls(eq("fmp"), any())).thenAnswer(call -> issued.get(call.getArgument(1, RequestPriority.class)));
+        when(redisCache.getAll(any())).thenReturn(Map.of());
+        popularity.record(List.of("AAPL", "MSFT", "GOOG"));
+    }
+
+    @Test
+    void chargesOnlyItsOwnCallsToTheBudget() {
+        when(tickerService.refreshTickers(anyList(), eq(RequestPriority.REFRESH_AHEAD))).thenAnswer(call -> {
+            issued.merge(RequestPriority.REFRESH_AHEAD, 2L, Long::sum);
+            issued.merge(RequestPriority.BACKGROUND, 7L, Long::sum); // Stale-while-revalidate running at the same time
+            return 3;
+        });
+
+        scheduler.refreshHottestTickers();
+
+        verify(tickerService).refreshTickers(anyList(), eq(RequestPriority.REFRESH_AHEAD));
+        assertThat(budget()).containsEntry("callsToday", 2L).containsEntry("tickersRefreshedToday", 3L);
+    }
+
+    @Test
+    void callsRejectedBeforeReachingFmpCostNothing() {
+        when(tickerService.refreshTickers(anyList(), eq(RequestPriority.REFRESH_AHEAD))).thenReturn(0);
+
+        scheduler.refreshHottestTickers();
+
+        assertThat(budget()).containsEntry("callsToday", 0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> budget() {
+        return (Map<String, Object>) scheduler.status().get("budget");
+    }
+}
@@ -0,0 +1,120 @@
+package com.interview.service_p.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.service_p.config.KafkaProducerProperties;
+import com.interview.service_p.model.kafka.BulkAnalysisSummary;
+import com.interview.service_p.model.kafka.TickerDetailPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TickerAnalysisBulkServiceTests {
+
+    private static final String RECORD = "{\"tickers\":[],\"email\":\"user@example.com\"}";
+
+    // Sends complete only when a test completes them; flush() would ack them all at once. Shared across sends
+    // like the factory's own producer, so KafkaTemplate closing it after each send is a no-op
+    private final MockProducer<String, TickerDetailPayload> producer =
+            new MockProducer<>(false, new StringSerializer(), (topic, payload) -> new byte[0]) {
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close(Duration timeout) {
+                }
+            };
+    private final KafkaProducerProperties properties = new KafkaProducerProperties();
+    private TickerAnalysisBulkService bulkService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProducerFactory<String, TickerDetailPayload> producerFactory = mock(ProducerFactory.class);
+        when(producerFactory.copyWithConfigurationOverride(any())).thenReturn(producerFactory);
+        when(producerFactory.createProducer()).thenReturn(producer);
+        UniqueIdGenService uniqueIdGenService = mock(UniqueIdGenService.class);
+        AtomicInteger ids = new AtomicInteger();
+        when(uniqueIdGenService.generateUniqueId()).thenAnswer(call -> "message-" + ids.incrementAndGet());
+
+        properties.setTopicName("ticker-analysis");
+        properties.getBulk().setMaxInFlight(2);
+        properties.getBulk().setCompletionTimeoutMs(5_000);
+        bulkService = new TickerAnalysisBulkService(uniqueIdGenService, properties, new ObjectMapper(),
+                mock(AnalysisOutboxService.class), producerFactory, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void stopsReadingTheUploadWhileMaxInFlightSendsAreUnacknowledged() throws Exception {
+        CompletableFuture<BulkAnalysisSummary> summary = CompletableFuture.supplyAsync(() -> ingest(5));
+
+        awaitSends(2);
+        Thread.sleep(200); // Gives a reader that ignored the bound time to send more
+        assertThat(producer.history()).hasSize(2);
+        assertThat(summary).isNotDone();
+
+        producer.completeNext(); // Frees one slot, so exactly one more record is read
+        awaitSends(3);
+        Thread.sleep(200);
+        assertThat(producer.history()).hasSize(3);
+
+        while (!summary.isDone()) {
+            producer.completeNext();
+            Thread.sleep(10);
+        }
+        assertThat(summary.get(5, TimeUnit.SECONDS).getProduced()).isEqualTo(5);
+    }
+
+    @Test
+    void failedAndMalformedRecordsAreReportedPerLine() {
+        CompletableFuture<BulkAnalysisSummary> summary = CompletableFuture.supplyAsync(
+                () -> ingest(RECORD + "\nnot json\n\n" + RECORD + "\n"));
+
+        awaitSends(2);
+        producer.completeNext();
+        producer.errorNext(new RuntimeException("broker unavailable"));
+
+        BulkAnalysisSummary result = summary.join();
+        assertThat(result.getReceived()).isEqualTo(3); // The blank line is skipped
+        assertThat(result.getProduced()).isEqualTo(1);
+        assertThat(result.getRecords()).extracting(BulkAnalysisSummary.RecordResult::getLine).containsExactly(1L, 2L, 4L);
+        assertThat(result.getRecords().get(1).getError()).startsWith("Invalid TickerDetail JSON");
+        assertThat(result.getRecords().get(2).isProduced()).isFalse();
+        assertThat(result.getRecords().get(2).getError()).isNotBlank();
+    }
+
+    private BulkAnalysisSummary ingest(int records) {
+        return ingest((RECORD + "\n").repeat(records));
+    }
+
+    private BulkAnalysisSummary ingest(String ndjson) {
+        try {
+            return bulkService.ingest(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitSends(int count) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (producer.history().size() < count && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(producer.history()).hasSize(count);
+    }
+}
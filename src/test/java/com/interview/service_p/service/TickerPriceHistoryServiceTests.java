@@ -0,0 +1,88 @@
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.PriceHistoryProperties;
+import com.interview.service_p.repository.TickerPriceHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TickerPriceHistoryServiceTests {
+
+    private final TickerPriceHistoryRepository repository = mock(TickerPriceHistoryRepository.class);
+    private final PriceHistoryProperties properties = new PriceHistoryProperties();
+    private final LocalDate today = TickerPriceHistoryRepository.partitionDay(Instant.now());
+    private TickerPriceHistoryService historyService;
+
+    @BeforeEach
+    void setUp() {
+        properties.setPrecreateDays(2);
+        properties.setRetentionDays(30);
+        historyService = new TickerPriceHistoryService(repository, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void shutdown() {
+        historyService.shutdown();
+    }
+
+    @Test
+    void createsUpcomingPartitionsAndDropsOnlyThosePastRetention() {
+        when(repository.findPartitionDays()).thenReturn(List.of(today.minusDays(31), today.minusDays(30), today));
+
+        historyService.maintainPartitions();
+
+        verify(repository).createPartitionIfMissing(today);
+        verify(repository).createPartitionIfMissing(today.plusDays(1));
+        verify(repository).createPartitionIfMissing(today.plusDays(2));
+        verify(repository).dropPartition(today.minusDays(31));
+        verify(repository, never()).dropPartition(today.minusDays(30));
+        verify(repository, never()).dropPartition(today);
+    }
+
+    @Test
+    void failedDropDoesNotStopTheOtherExpiredPartitions() {
+        when(repository.findPartitionDays()).thenReturn(List.of(today.minusDays(40), today.minusDays(35)));
+        doThrow(new IllegalStateException("lock timeout")).when(repository).dropPartition(today.minusDays(40));
+
+        historyService.maintainPartitions();
+
+        verify(repository).dropPartition(today.minusDays(35));
+    }
+
+    @Test
+    void partitionIsCreatedOnceAndRetriedOnlyAfterAFailure() {
+        when(repository.findPartitionDays()).thenReturn(List.of());
+        doThrow(new IllegalStateException("connection reset")).doNothing()
+                .when(repository).createPartitionIfMissing(today.plusDays(1));
+
+        historyService.maintainPartitions();
+        historyService.maintainPartitions();
+
+        verify(repository, times(1)).createPartitionIfMissing(today);
+        verify(repository, times(2)).createPartitionIfMissing(today.plusDays(1));
+        verify(repository, times(1)).createPartitionIfMissing(today.plusDays(2));
+    }
+
+    @Test
+    void disabledHistoryIssuesNoDdl() {
+        properties.setEnabled(false);
+
+        historyService.maintainPartitions();
+
+        verify(repository, never()).createPartitionIfMissing(any());
+        verify(repository, never()).findPartitionDays();
+    }
+}
@@ -0,0 +1,140 @@
+package com.interview.service_p.service;
+
+import com.interview.service_p.config.TickerRefreshProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TickerRefreshServiceTests {
+
+    private static final int TRIALS = 20_000;
+
+    private final TickerRefreshService refreshService = new TickerRefreshService(properties(1, 1));
+
+    @AfterEach
+    void shutdown() {
+        refreshService.shutdown();
+    }
+
+    @Test
+    void neverRefreshesEarlyWithoutFetchTimingFreshnessOrBeta() {
+        long now = System.currentTimeMillis();
+        assertThat(refreshService.shouldRefreshEarly(now - 60_000, 1_000, 1.0)).isFalse(); // No fetch measured yet
+
+        refreshService.recordFetchDuration(1_000);
+        assertThat(refreshService.shouldRefreshEarly(0, 1_000, 1.0)).isFalse(); // fetchedAt unknown
+        assertThat(refreshService.shouldRefreshEarly(now - 60_000, 1_000, 0)).isFalse(); // Disabled
+    }
+
+    @Test
+    void alwaysRefreshesOnceExpired() {
+        refreshService.recordFetchDuration(100);
+        long fetchedAt = System.currentTimeMillis() - 10_000;
+
+        assertThat(refreshRate(fetchedAt, 5_000, 1.0)).isEqualTo(1.0);
+    }
+
+    @Test
+    void practicallyNeverRefreshesFarFromExpiry() {
+        refreshService.recordFetchDuration(100);
+
+        assertThat(refreshRate(System.currentTimeMillis(), TimeUnit.HOURS.toMillis(1), 1.0)).isZero();
+    }
+
+    @Test
+    void refreshProbabilityFollowsTheXFetchDistribution() {
+        refreshService.recordFetchDuration(1_000);
+        long now = System.currentTimeMillis();
+
+        // P(refresh) = exp(-timeToExpiry / (delta * beta))
+        assertThat(refreshRate(now, 1_000, 1.0)).isCloseTo(Math.exp(-1), within(0.03));
+        assertThat(refreshRate(now, 3_000, 1.0)).isCloseTo(Math.exp(-3), within(0.02));
+        assertThat(refreshRate(now, 1_000, 2.0)).isCloseTo(Math.exp(-0.5), within(0.03)); // Higher beta refreshes earlier
+    }
+
+    @Test
+    void fetchDurationIsSmoothed() {
+        refreshService.recordFetchDuration(1_000);
+        refreshService.recordFetchDuration(6_000); // 1000 + 0.2 * 5000 = 2000
+        long now = System.currentTimeMillis();
+
+        assertThat(refreshRate(now, 2_000, 1.0)).isCloseTo(Math.exp(-1), within(0.03));
+    }
+
+    @Test
+    void tickerAlreadyBeingRefreshedIsSkipped() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        refreshService.refreshAsync(List.of("AAPL"), batch -> {
+            batches.add(batch);
+            running.countDown();
+            await(release);
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch second = new CountDownLatch(1);
+        refreshService.refreshAsync(List.of("AAPL", "MSFT"), batch -> {
+            batches.add(batch);
+            second.countDown();
+        });
+        release.countDown();
+
+        assertThat(second.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).containsExactly(List.of("AAPL"), List.of("MSFT"));
+    }
+
+    @Test
+    void droppedRefreshReleasesItsTickers() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        refreshService.refreshAsync(List.of("AAPL"), batch -> {
+            running.countDown();
+            await(release);
+        }); // Occupies the only thread
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch drained = new CountDownLatch(1);
+        refreshService.refreshAsync(List.of("MSFT"), batch -> drained.countDown()); // Fills the queue
+
+        refreshService.refreshAsync(List.of("GOOG"), batch -> { }); // Rejected
+        release.countDown();
+        assertThat(drained.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch retried = new CountDownLatch(1);
+        refreshService.refreshAsync(List.of("GOOG"), batch -> retried.countDown());
+        assertThat(retried.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double refreshRate(long fetchedAt, long ttlMillis, double beta) {
+        int refreshes = 0;
+        for (int i = 0; i < TRIALS; i++) {
+            if (refreshService.shouldRefreshEarly(fetchedAt, ttlMillis, beta)) {
+                refreshes++;
+            }
+        }
+        return (double) refreshes / TRIALS;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TickerRefreshProperties properties(int threads, int queueCapacity) {
+        TickerRefreshProperties properties = new TickerRefreshProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        return properties;
+    }
+}
@@ -0,0 +1,94 @@
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.config.RestConfigProperties.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimiterTests {
+
+    @Test
+    void rejectsCallsBeyondTheLimit() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties(2, 1, 10));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onIgnored();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsAdditivelyWhileTheLimitIsInUse() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties(4, 1, 100));
+
+        // Four saturated rounds add roughly one per limit's worth of successes
+        for (int round = 0; round < 4; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(10);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isBetween(5, 6);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties(10, 1, 100));
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(10);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void backsOffMultiplicativelyOnFailureAndSlowCalls() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties(16, 1, 100));
+
+        limiter.tryAcquire();
+        limiter.onFailure();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        limiter.tryAcquire();
+        limiter.onSuccess(5_000); // Above the latency threshold
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(properties(3, 2, 4));
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.onFailure();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.tryAcquire()) {
+                // Saturate
+            }
+            limiter.onSuccess(10);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    private static ConcurrencyLimitProperties properties(int initialLimit, int minLimit, int maxLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(initialLimit);
+        properties.setMinLimit(minLimit);
+        properties.setMaxLimit(maxLimit);
+        properties.setBackoffRatio(0.5);
+        properties.setLatencyThresholdMs(1_000);
+        return properties;
+    }
+}
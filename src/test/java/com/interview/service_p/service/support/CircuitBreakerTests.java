@@ -0,0 +1,156 @@
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.config.RestConfigProperties.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTests {
+
+    @Test
+    void opensOnceMinimumCallsReachTheFailureRate() {
+        CircuitBreaker breaker = new CircuitBreaker(properties(4, 4, 60_000, 1));
+
+        breaker.onSuccess(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // 3 calls < minimum-calls
+
+        breaker.onSuccess(breaker.tryAcquirePermission());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // Evaluated on failure only
+
+        breaker.onFailure(breaker.tryAcquirePermission()); // Window now holds 1 success and 3 failures
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void slidingWindowForgetsOldOutcomes() {
+        CircuitBreaker breaker = new CircuitBreaker(properties(4, 4, 60_000, 1));
+
+        breaker.onFailure(breaker.tryAcquirePermission());
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(breaker.tryAcquirePermission()); // Pushes the failure out of the window
+        }
+        breaker.onFailure(breaker.tryAcquirePermission());
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // 1 of 4 failed
+    }
+
+    @Test
+    void halfOpenClosesAfterPermittedTrialsSucceed() {
+        CircuitBreaker breaker = openBreaker(2);
+
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onSuccess(first);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(second);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenReopensOnAnyTrialFailure() {
+        CircuitBreaker breaker = openBreaker(2);
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+
+        breaker.onFailure(first);
+        breaker.onSuccess(second); // From the half-open period that just ended
+
+        // The open duration is zero, so the breaker is half-open again with fresh trial slots
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.tryAcquirePermission()).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void outcomeOfPermitFromClosedStateDoesNotCountAsHalfOpenTrial() {
+        CircuitBreaker breaker = new CircuitBreaker(properties(2, 2, 0, 1));
+        long slowCall = breaker.tryAcquirePermission(); // Admitted while CLOSED, completes much later
+        breaker.onFailure(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+
+        long trial = breaker.tryAcquirePermission(); // OPEN has expired: moves to HALF_OPEN
+        assertThat(trial).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onSuccess(slowCall);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION); // Trial slot still taken
+
+        breaker.onFailure(slowCall);
+        breaker.onSuccess(trial);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void outcomeOfHalfOpenTrialDoesNotCountAgainstNextClosedWindow() {
+        CircuitBreaker breaker = openBreaker(2);
+        long first = breaker.tryAcquirePermission();
+        long second = breaker.tryAcquirePermission();
+        breaker.onFailure(first); // Reopens; the second trial is still outstanding
+        long retrial = breaker.tryAcquirePermission();
+        long secondRetrial = breaker.tryAcquirePermission();
+        breaker.onSuccess(retrial);
+        breaker.onSuccess(secondRetrial);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        breaker.onFailure(second); // From an earlier generation
+        breaker.onFailure(breaker.tryAcquirePermission());
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // Only 1 failure recorded of minimum 2
+    }
+
+    @Test
+    void ignoredTrialFreesItsHalfOpenSlot() {
+        CircuitBreaker breaker = openBreaker(1);
+        long trial = breaker.tryAcquirePermission();
+        assertThat(breaker.tryAcquirePermission()).isEqualTo(CircuitBreaker.NO_PERMISSION);
+
+        breaker.onIgnored(trial);
+
+        assertThat(breaker.tryAcquirePermission()).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void disabledBreakerAlwaysPermits() {
+        CircuitBreakerProperties properties = properties(1, 1, 60_000, 1);
+        properties.setEnabled(false);
+        CircuitBreaker breaker = new CircuitBreaker(properties);
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onFailure(breaker.tryAcquirePermission());
+        }
+
+        assertThat(breaker.tryAcquirePermission()).isNotEqualTo(CircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void rejectsMinimumCallsLargerThanWindow() {
+        assertThatThrownBy(() -> new CircuitBreaker(properties(4, 5, 60_000, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minimum-calls");
+    }
+
+    // Opens a breaker whose open duration has already expired, so the next acquire moves it to HALF_OPEN
+    private static CircuitBreaker openBreaker(int halfOpenPermittedCalls) {
+        CircuitBreaker breaker = new CircuitBreaker(properties(2, 2, 0, halfOpenPermittedCalls));
+        breaker.onFailure(breaker.tryAcquirePermission());
+        breaker.onFailure(breaker.tryAcquirePermission());
+        return breaker;
+    }
+
+    private static CircuitBreakerProperties properties(int slidingWindowSize, int minimumCalls, long openDurationMs,
+                                                       int halfOpenPermittedCalls) {
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setFailureRateThreshold(50);
+        properties.setSlidingWindowSize(slidingWindowSize);
+        properties.setMinimumCalls(minimumCalls);
+        properties.setOpenDurationMs(openDurationMs);
+        properties.setHalfOpenPermittedCalls(halfOpenPermittedCalls);
+        return properties;
+    }
+}
@@ -0,0 +1,102 @@
+package com.interview.service_p.service.support;
+
+import com.interview.service_p.model.TickerStatistic;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarTickerSnapshotTests {
+
+    @Test
+    void withUpdatesAppendsNewSymbolsAndLeavesTheOriginalUntouched() {
+        ColumnarTickerSnapshot first = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(
+                statistic("AAPL", 190, 1_000), statistic("MSFT", 420, 1_000)));
+
+        ColumnarTickerSnapshot second = first.withUpdates(List.of(statistic("GOOG", 170, 2_000), statistic("AAPL", 191, 2_000)));
+
+        assertThat(ColumnarTickerSnapshot.EMPTY.size()).isZero();
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.indexOf("GOOG")).isEqualTo(-1);
+        assertThat(first.price(first.indexOf("AAPL"))).isEqualTo(190);
+
+        assertThat(second.symbols()).containsExactly("AAPL", "MSFT", "GOOG"); // Existing symbols keep their index
+        assertThat(second.price(second.indexOf("AAPL"))).isEqualTo(191);
+        assertThat(second.fetchedAt(second.indexOf("GOOG"))).isEqualTo(2_000);
+    }
+
+    @Test
+    void olderUpdateArrivingLateDoesNotOverwriteNewerRow() {
+        ColumnarTickerSnapshot snapshot = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(statistic("AAPL", 191, 2_000)));
+
+        ColumnarTickerSnapshot late = snapshot.withUpdates(List.of(statistic("AAPL", 150, 1_000)));
+        ColumnarTickerSnapshot sameTime = snapshot.withUpdates(List.of(statistic("AAPL", 192, 2_000)));
+
+        assertThat(late.price(late.indexOf("AAPL"))).isEqualTo(191);
+        assertThat(sameTime.price(sameTime.indexOf("AAPL"))).isEqualTo(192);
+    }
+
+    @Test
+    void mergeKeepsTheLaterFetchedRowFromEitherSide() {
+        ColumnarTickerSnapshot base = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(
+                statistic("AAPL", 191, 2_000), statistic("MSFT", 400, 1_000)));
+        ColumnarTickerSnapshot other = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(
+                statistic("MSFT", 420, 3_000), statistic("AAPL", 150, 1_000), statistic("TSLA", 250, 1_500)));
+
+        ColumnarTickerSnapshot merged = base.mergedWith(other);
+
+        assertThat(merged.symbols()).containsExactly("AAPL", "MSFT", "TSLA");
+        assertThat(merged.toTickerStatistic(merged.indexOf("AAPL"))).usingRecursiveComparison()
+                .isEqualTo(statistic("AAPL", 191, 2_000));
+        assertThat(merged.toTickerStatistic(merged.indexOf("MSFT"))).usingRecursiveComparison()
+                .isEqualTo(statistic("MSFT", 420, 3_000));
+        assertThat(merged.price(merged.indexOf("TSLA"))).isEqualTo(250);
+    }
+
+    @Test
+    void mergeResultDoesNotDependOnWhichSideIsNewer() {
+        ColumnarTickerSnapshot a = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(
+                statistic("AAPL", 191, 2_000), statistic("MSFT", 400, 1_000)));
+        ColumnarTickerSnapshot b = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(
+                statistic("MSFT", 420, 3_000), statistic("AAPL", 150, 1_000)));
+
+        ColumnarTickerSnapshot ab = a.mergedWith(b);
+        ColumnarTickerSnapshot ba = b.mergedWith(a);
+
+        for (String symbol : List.of("AAPL", "MSFT")) {
+            assertThat(ab.toTickerStatistic(ab.indexOf(symbol))).usingRecursiveComparison()
+                    .isEqualTo(ba.toTickerStatistic(ba.indexOf(symbol)));
+        }
+    }
+
+    @Test
+    void columnAccessorsReturnCopies() {
+        ColumnarTickerSnapshot snapshot = ColumnarTickerSnapshot.EMPTY.withUpdates(List.of(statistic("AAPL", 191, 2_000)));
+
+        double[] prices = snapshot.prices();
+        Arrays.fill(prices, 0);
+
+        assertThat(snapshot.price(0)).isEqualTo(191);
+    }
+
+    @Test
+    void ignoresStatisticsWithoutSymbol() {
+        ColumnarTickerSnapshot snapshot = ColumnarTickerSnapshot.EMPTY.withUpdates(Arrays.asList(
+                null, statistic(null, 1, 1), statistic("AAPL", 191, 2_000)));
+
+        assertThat(snapshot.symbols()).containsExactly("AAPL");
+    }
+
+    private static TickerStatistic statistic(String symbol, double price, long fetchedAt) {
+        TickerStatistic statistic = new TickerStatistic();
+        statistic.setSymbol(symbol);
+        statistic.setPrice(price);
+        statistic.setVolume(1_000_000);
+        statistic.setPeRatio(30);
+        statistic.setLastUpdated(String.valueOf(fetchedAt / 1_000));
+        statistic.setFetchedAt(fetchedAt);
+        return statistic;
+    }
+}
@@ -0,0 +1,98 @@
+package com.interview.service_p.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTests {
+
+    @Test
+    void neverUndercountsEvenWhenColumnsCollide() {
+        CountMinSketch sketch = new CountMinSketch(16, 4); // Far fewer columns than keys
+        int keys = 500;
+        for (int key = 0; key < keys; key++) {
+            for (int i = 0; i <= key % 7; i++) {
+                sketch.add("SYM" + key);
+            }
+        }
+
+        for (int key = 0; key < keys; key++) {
+            assertThat(sketch.estimate("SYM" + key)).isGreaterThanOrEqualTo(key % 7 + 1);
+        }
+    }
+
+    @Test
+    void heavyHittersAreEstimatedClosely() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("AAPL");
+            sketch.add("TAIL" + i); // 10,000 keys seen once each
+        }
+
+        // Overcount is bounded by roughly 2 * total / width with high probability
+        assertThat(sketch.estimate("AAPL")).isBetween(10_000L, 10_000L + 2 * 20_000 / 1024);
+    }
+
+    @Test
+    void addReturnsTheEstimateIncludingThisOccurrence() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+
+        assertThat(sketch.add("MSFT")).isEqualTo(1);
+        assertThat(sketch.add("MSFT")).isEqualTo(2);
+        assertThat(sketch.estimate("MSFT")).isEqualTo(2);
+        assertThat(sketch.estimate("GOOG")).isZero();
+    }
+
+    @Test
+    void halveDecaysEveryCounter() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        for (int i = 0; i < 9; i++) {
+            sketch.add("NVDA");
+        }
+
+        sketch.halve();
+        assertThat(sketch.estimate("NVDA")).isEqualTo(4);
+        sketch.halve();
+        sketch.halve();
+        sketch.halve();
+        assertThat(sketch.estimate("NVDA")).isZero();
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        int threads = 8;
+        int addsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < addsPerThread; i++) {
+                        sketch.add("TSLA");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sketch.estimate("TSLA")).isEqualTo((long) threads * addsPerThread);
+    }
+
+    @Test
+    void rejectsEmptyDimensions() {
+        assertThatThrownBy(() -> new CountMinSketch(0, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(16, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.interview.service_p.service.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentedSpoolTests {
+
+    // Each test record is 2 header ints + 10 payload bytes = 18 bytes, so 3 fit in a segment
+    // (the last 4 bytes are reserved for the end-of-data marker)
+    private static final int SEGMENT_SIZE = 64;
+    private static final int RECORDS_PER_SEGMENT = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsRecordsInAppendOrderAcrossSegments() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 7);
+
+        assertThat(segmentFiles()).hasSize(3);
+        assertThat(spool.depth()).isEqualTo(7);
+        assertThat(payloads(spool.read(100))).containsExactly(
+                record(0), record(1), record(2), record(3), record(4), record(5), record(6));
+    }
+
+    @Test
+    void readDoesNotConsumeUntilCommit() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 3);
+
+        List<SegmentedSpool.Entry> first = spool.read(2);
+        assertThat(payloads(spool.read(2))).containsExactly(record(0), record(1));
+
+        spool.commit(first.get(1).next(), 2);
+        assertThat(spool.depth()).isEqualTo(1);
+        assertThat(payloads(spool.read(10))).containsExactly(record(2));
+    }
+
+    @Test
+    void commitDeletesFullyConsumedSegmentsAndFreesCapacity() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 2);
+        appendRecords(spool, 0, 2 * RECORDS_PER_SEGMENT);
+        assertThat(spool.append(record(99))).isFalse(); // Every segment is full
+
+        List<SegmentedSpool.Entry> entries = spool.read(RECORDS_PER_SEGMENT);
+        spool.commit(entries.get(RECORDS_PER_SEGMENT - 1).next(), RECORDS_PER_SEGMENT);
+        // The read position is still at the end of the first segment; reading moves it into the next one
+        spool.commit(spool.read(1).get(0).next(), 1);
+
+        assertThat(segmentFiles()).hasSize(1);
+        assertThat(spool.append(record(6))).isTrue();
+        assertThat(spool.depth()).isEqualTo(3);
+    }
+
+    @Test
+    void recoversPendingRecordsFromTheCheckpoint() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 7);
+        List<SegmentedSpool.Entry> drained = spool.read(4);
+        spool.commit(drained.get(3).next(), 4);
+
+        SegmentedSpool recovered = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+
+        assertThat(recovered.depth()).isEqualTo(3);
+        assertThat(recovered.bytesPending()).isPositive();
+        assertThat(payloads(recovered.read(100))).containsExactly(record(4), record(5), record(6));
+        // Appends continue after the recovered data instead of overwriting it
+        assertThat(recovered.append(record(7))).isTrue();
+        assertThat(payloads(recovered.read(100))).containsExactly(record(4), record(5), record(6), record(7));
+    }
+
+    @Test
+    void recoversAnEmptySpoolAfterEverythingWasDrained() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 4);
+        List<SegmentedSpool.Entry> drained = spool.read(100);
+        spool.commit(drained.get(drained.size() - 1).next(), drained.size());
+
+        SegmentedSpool recovered = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+
+        assertThat(recovered.depth()).isZero();
+        assertThat(recovered.bytesPending()).isZero();
+        assertThat(recovered.read(100)).isEmpty();
+    }
+
+    @Test
+    void recordFailingItsChecksumSkipsTheRestOfItsSegment() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 5);
+        spool.force();
+
+        corruptPayload(segmentFiles().get(0), 18); // Second record in the first segment
+
+        SegmentedSpool recovered = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        assertThat(recovered.depth()).isEqualTo(3);
+        assertThat(payloads(recovered.read(100))).containsExactly(record(0), record(3), record(4));
+    }
+
+    @Test
+    void recordFailingItsChecksumInTheWriteSegmentIsCommittedPast() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        appendRecords(spool, 0, 2);
+        spool.force();
+        corruptPayload(segmentFiles().get(0), 18); // Second record of the only segment
+
+        SegmentedSpool recovered = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+        List<SegmentedSpool.Entry> entries = recovered.read(100);
+        assertThat(payloads(entries)).containsExactly(record(0));
+        recovered.commit(entries.get(0).next(), 1);
+
+        assertThat(recovered.read(100)).isEmpty(); // Commits past the corrupt record
+        appendRecords(recovered, 2, 3);
+        assertThat(payloads(recovered.read(100))).containsExactly(record(2));
+        assertThat(recovered.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRecordsLargerThanASegment() throws IOException {
+        SegmentedSpool spool = new SegmentedSpool(directory, SEGMENT_SIZE, 4);
+
+        assertThatThrownBy(() -> spool.append(new byte[SEGMENT_SIZE])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void appendRecords(SegmentedSpool spool, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            assertThat(spool.append(record(i))).isTrue();
+        }
+    }
+
+    // Flips the first payload byte of the record at the given offset
+    private static void corruptPayload(Path segment, long recordOffset) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long offset = recordOffset + 8;
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0xFF);
+        }
+    }
+
+    // Fixed 10-byte payloads keep the segment arithmetic above exact
+    private static byte[] record(int i) {
+        return String.format("record-%03d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<byte[]> payloads(List<SegmentedSpool.Entry> entries) {
+        return entries.stream().map(SegmentedSpool.Entry::payload).toList();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.interview.service_p.service.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersLoadEachKeyOnce() throws Exception {
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Function<List<String>, Map<String, String>> blockingLoader = keys -> {
+            batches.add(keys);
+            leaderLoading.countDown();
+            await(releaseLeader);
+            return Map.of("AAPL", "apple");
+        };
+
+        Future<Map<String, String>> leader = executor.submit(() -> singleFlight.loadAll(List.of("AAPL"), blockingLoader));
+        assertThat(leaderLoading.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Map<String, String>> follower = executor.submit(() -> singleFlight.loadAll(List.of("AAPL", "MSFT", "MSFT"),
+                keys -> {
+                    batches.add(keys);
+                    return Map.of("MSFT", "microsoft");
+                }));
+
+        // The follower loads only the key nobody else is loading, then waits for the leader's
+        waitUntil(() -> batches.size() == 2);
+        assertThat(follower.isDone()).isFalse();
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).containsExactly(Map.entry("AAPL", "apple"));
+        assertThat(follower.get(5, TimeUnit.SECONDS)).containsOnly(Map.entry("AAPL", "apple"), Map.entry("MSFT", "microsoft"));
+        assertThat(batches).containsExactly(List.of("AAPL"), List.of("MSFT"));
+        assertThat(meterRegistry.get("single.flight.loads").tag("role", "coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void keysMissingFromTheLoaderResultAreNotFound() {
+        Map<String, String> results = singleFlight.loadAll(List.of("AAPL", "NOPE"), keys -> Map.of("AAPL", "apple"));
+
+        assertThat(results).containsOnlyKeys("AAPL");
+    }
+
+    @Test
+    void failedLoadPropagatesToTheLeaderAndIsMissingForFollowers() throws Exception {
+        CountDownLatch leaderLoading = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        Future<Map<String, String>> leader = executor.submit(() -> singleFlight.loadAll(List.of("AAPL"), keys -> {
+            leaderLoading.countDown();
+            await(releaseLeader);
+            throw new IllegalStateException("provider down");
+        }));
+        assertThat(leaderLoading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Map<String, String>> follower = singleFlight.loadAllAsync(List.of("AAPL"),
+                keys -> CompletableFuture.failedFuture(new AssertionError("AAPL is already loading")));
+
+        releaseLeader.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void completedLoadIsNotReused() {
+        singleFlight.loadAll(List.of("AAPL"), keys -> Map.of("AAPL", "first"));
+
+        Map<String, String> second = singleFlight.loadAll(List.of("AAPL"), keys -> Map.of("AAPL", "second"));
+
+        assertThat(second).containsEntry("AAPL", "second");
+    }
+
+    @Test
+    void asyncLoadsCoalesceWithoutBlocking() throws Exception {
+        CompletableFuture<Map<String, String>> pending = new CompletableFuture<>();
+        List<List<String>> batches = new ArrayList<>();
+
+        CompletableFuture<Map<String, String>> first = singleFlight.loadAllAsync(List.of("AAPL"), keys -> {
+            batches.add(keys);
+            return pending;
+        });
+        CompletableFuture<Map<String, String>> second = singleFlight.loadAllAsync(List.of("AAPL"), keys -> {
+            batches.add(keys);
+            return CompletableFuture.completedFuture(Map.of());
+        });
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+
+        pending.complete(Map.of("AAPL", "apple"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsEntry("AAPL", "apple");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsEntry("AAPL", "apple");
+        assertThat(batches).containsExactly(List.of("AAPL"));
+    }
+
+    @Test
+    void asyncLoaderThrowingSynchronouslyIsTreatedAsFailedLoad() throws Exception {
+        CompletableFuture<Map<String, String>> result = singleFlight.loadAllAsync(List.of("AAPL"), keys -> {
+            throw new IllegalStateException("provider down");
+        });
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEmpty();
+        // The failed key was released, so the next caller loads it again
+        assertThat(singleFlight.loadAll(List.of("AAPL"), keys -> Map.of("AAPL", "apple"))).containsEntry("AAPL", "apple");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to release the loader");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
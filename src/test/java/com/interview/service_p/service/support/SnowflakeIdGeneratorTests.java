@@ -0,0 +1,90 @@
+package com.interview.service_p.service.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTests {
+
+    private static final Instant EPOCH = Instant.ofEpochMilli(1_000_000);
+    private static final int SEQUENCE_PER_MILLISECOND = 1 << 12;
+
+    private final AtomicLong clock = new AtomicLong(EPOCH.toEpochMilli() + 5_000);
+    private final SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, EPOCH, clock::get);
+
+    @Test
+    void encodesTimestampNodeAndSequence() {
+        long first = generator.nextLongId();
+        long second = generator.nextLongId();
+
+        assertThat(generator.timestampOf(first)).isEqualTo(Instant.ofEpochMilli(clock.get()));
+        assertThat((first >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID).isEqualTo(42);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(first).isPositive();
+    }
+
+    @Test
+    void sequenceOverflowCarriesIntoTheNextMillisecond() {
+        long previous = generator.nextLongId();
+        for (int i = 1; i < SEQUENCE_PER_MILLISECOND + 10; i++) {
+            long next = generator.nextLongId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+
+        // The clock never moved, so the generator is running one millisecond ahead of it
+        assertThat(generator.timestampOf(previous)).isEqualTo(Instant.ofEpochMilli(clock.get() + 1));
+
+        // Once the clock passes the borrowed millisecond, IDs follow the clock again
+        clock.addAndGet(10);
+        long caughtUp = generator.nextLongId();
+        assertThat(caughtUp).isGreaterThan(previous);
+        assertThat(generator.timestampOf(caughtUp)).isEqualTo(Instant.ofEpochMilli(clock.get()));
+        assertThat(caughtUp & (SEQUENCE_PER_MILLISECOND - 1)).isZero();
+    }
+
+    @Test
+    void clockSteppingBackwardsNeverProducesSmallerIds() {
+        long beforeSkew = generator.nextLongId();
+        Instant issuedAt = generator.timestampOf(beforeSkew);
+
+        clock.addAndGet(-2_000);
+        long duringSkew = generator.nextLongId();
+
+        assertThat(duringSkew).isGreaterThan(beforeSkew);
+        assertThat(generator.timestampOf(duringSkew)).isEqualTo(issuedAt); // Keeps counting on the last timestamp
+
+        clock.addAndGet(2_001);
+        long afterSkew = generator.nextLongId();
+        assertThat(generator.timestampOf(afterSkew)).isEqualTo(issuedAt.plusMillis(1));
+    }
+
+    @Test
+    void stringOrderMatchesNumericOrder() {
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1_000 == 0) {
+                clock.addAndGet(1_234_567);
+            }
+            String next = generator.nextId();
+            assertThat(next).hasSize(13).isGreaterThan(previous);
+            previous = next;
+        }
+        assertThat(SnowflakeIdGenerator.encode(0)).isEqualTo("0000000000000");
+        assertThat(SnowflakeIdGenerator.encode(Long.MAX_VALUE)).isEqualTo("7ZZZZZZZZZZZZ");
+    }
+
+    @Test
+    void rejectsInvalidNodeIdsAndFutureEpochs() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1, EPOCH, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, EPOCH, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1, Instant.ofEpochMilli(clock.get() + 1), clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}